@@ -0,0 +1,76 @@
+package com.nexus.nexus.AccessLog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring of access-log entries: any number of request threads offer, one
+ * drain thread polls.
+ * <p>
+ * Each slot carries a sequence number telling whose turn it is, so a producer claims a slot
+ * with a single CAS on the tail and never waits for the consumer. When the ring is full
+ * {@link #offer} fails instead of blocking; the caller counts the drop.
+ */
+final class AccessLogBuffer {
+
+    private final AtomicReferenceArray<AccessLogEntry> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private long head;
+
+    AccessLogBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Access log buffer size must be positive");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /** Adds the entry, or returns false when the ring is full. Safe to call from any thread. */
+    boolean offer(AccessLogEntry entry) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long lag = sequences.get(index) - position;
+            if (lag == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (lag < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Oldest entry, or null when empty. Only the single drain thread may call this. */
+    AccessLogEntry poll() {
+        int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        AccessLogEntry entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, head + mask + 1);
+        head++;
+        return entry;
+    }
+}
@@ -0,0 +1,13 @@
+package com.nexus.nexus.AccessLog;
+
+/** One finished request, as recorded on the request thread. */
+public record AccessLogEntry(
+        long timestampMillis,
+        String method,
+        String path,
+        int status,
+        long latencyNanos,
+        long dbNanos,
+        Long userId
+) {
+}
@@ -0,0 +1,57 @@
+package com.nexus.nexus.AccessLog;
+
+import com.nexus.nexus.Security.JwtAuthenticationFilter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Times every request, including the security filters, and hands the result to
+ * {@link AccessLogWriter}. Reads the caller's id from the request attribute set by
+ * {@link JwtAuthenticationFilter} rather than the security context, so logging never forces a
+ * deferred token verification.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private final AccessLogWriter accessLogWriter;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !accessLogWriter.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        DbTimeListener.startRequest();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            long dbNanos = DbTimeListener.finishRequest();
+            Object userId = request.getAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE);
+            accessLogWriter.record(new AccessLogEntry(
+                    System.currentTimeMillis(),
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(),
+                    System.nanoTime() - start,
+                    dbNanos,
+                    userId instanceof Long id ? id : null));
+        }
+    }
+}
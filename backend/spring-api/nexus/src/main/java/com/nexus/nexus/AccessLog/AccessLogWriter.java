@@ -0,0 +1,135 @@
+package com.nexus.nexus.AccessLog;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes finished requests off the request threads and writes them to the {@code access}
+ * logger as one {@code key=value} line each.
+ * <p>
+ * {@link #record} only puts the entry in a ring buffer; a daemon thread drains it every
+ * {@code access-log.drain-interval}. Server errors and requests slower than
+ * {@code access-log.slow-threshold} are always written, everything else with probability
+ * {@code access-log.sample-rate}. If the buffer fills up, entries are dropped and the count is
+ * reported on the next drain rather than slowing requests down.
+ */
+@Component
+public class AccessLogWriter {
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+    private static final Logger accessLog = LoggerFactory.getLogger("access");
+
+    private final boolean enabled;
+    private final AccessLogBuffer buffer;
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final long drainIntervalNanos;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Thread drainer;
+    private volatile boolean running;
+
+    public AccessLogWriter(@Value("${access-log.enabled:true}") boolean enabled,
+                           @Value("${access-log.buffer-size:8192}") int bufferSize,
+                           @Value("${access-log.sample-rate:0.1}") double sampleRate,
+                           @Value("${access-log.slow-threshold:PT1S}") Duration slowThreshold,
+                           @Value("${access-log.drain-interval:PT0.5S}") Duration drainInterval) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Access log sample rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.buffer = new AccessLogBuffer(bufferSize);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.drainIntervalNanos = drainInterval.toNanos();
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+        drainer = thread;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        Thread thread = drainer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(Duration.ofSeconds(2));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Queues the entry for writing. Never blocks; drops the entry if the buffer is full. */
+    public void record(AccessLogEntry entry) {
+        if (enabled && !buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /** Writes out everything buffered so far. Only the drain thread (or a test) may call this. */
+    void drain() {
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            if (shouldWrite(entry)) {
+                accessLog.info(format(entry));
+            }
+        }
+        long lost = dropped.sumThenReset();
+        if (lost > 0) {
+            log.warn("Access log buffer full, dropped {} entries", lost);
+        }
+    }
+
+    boolean shouldWrite(AccessLogEntry entry) {
+        return entry.status() >= 500
+                || entry.latencyNanos() >= slowThresholdNanos
+                || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    static String format(AccessLogEntry entry) {
+        return "ts=" + Instant.ofEpochMilli(entry.timestampMillis())
+                + " method=" + entry.method()
+                + " path=" + entry.path()
+                + " status=" + entry.status()
+                + " latency_ms=" + millis(entry.latencyNanos())
+                + " db_ms=" + millis(entry.dbNanos())
+                + " user_id=" + (entry.userId() != null ? entry.userId() : "-");
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1_000_000.0);
+    }
+
+    private void drainLoop() {
+        while (running) {
+            LockSupport.parkNanos(drainIntervalNanos);
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                log.warn("Access log drain failed: {}", e.getMessage());
+            }
+        }
+        drain();
+    }
+}
@@ -0,0 +1,57 @@
+package com.nexus.nexus.AccessLog;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Adds the time each JDBC statement spends executing to the current request's DB time.
+ * <p>
+ * Registered through {@code hibernate.session.events.auto}, so Hibernate creates one per
+ * session. Sessions are confined to the request thread, which is where {@link #startRequest} left the
+ * accumulator; statements run outside a request (scheduled jobs, startup) are not counted.
+ */
+public class DbTimeListener implements SessionEventListener {
+
+    private static final ThreadLocal<long[]> CURRENT = new ThreadLocal<>();
+
+    private long statementStart;
+    private long batchStart;
+
+    /** Starts counting DB time on this thread. */
+    static void startRequest() {
+        CURRENT.set(new long[1]);
+    }
+
+    /** Stops counting on this thread and returns the nanoseconds spent in JDBC statements. */
+    static long finishRequest() {
+        long[] total = CURRENT.get();
+        CURRENT.remove();
+        return total != null ? total[0] : 0;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        add(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        add(System.nanoTime() - batchStart);
+    }
+
+    private static void add(long nanos) {
+        long[] total = CURRENT.get();
+        if (total != null) {
+            total[0] += nanos;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.nexus.nexus.Cache;
+
+import com.nexus.nexus.Service.CommentPage;
+import com.nexus.nexus.Transaction.AfterCommit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Assembled comment pages per item, so repeat views of a busy item are served from memory.
+ * <p>
+ * Each item holds at most {@code pagesPerItem} pages (offset, cursor or reply pages), evicting
+ * the least recently used, and the whole item expires {@code ttl} after its first cached page.
+ * Anything that changes an item's comments calls {@link #invalidate}, which drops all of the
+ * item's pages once the transaction commits. A page loaded concurrently with the change lands
+ * in the dropped bucket and is never served.
+ * <p>
+ * An item only gets a bucket once a page of it has loaded, and the loader fails for items that
+ * do not exist, so requests for made-up ids never take a slot from real items.
+ */
+@Component
+public class CommentPageCache {
+
+    private final TtlCache<Long, ItemPages> items;
+    private final int pagesPerItem;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public CommentPageCache(@Value("${comments.page-cache.ttl:PT1M}") Duration ttl,
+                            @Value("${comments.page-cache.items:2000}") int maxItems,
+                            @Value("${comments.page-cache.pages-per-item:8}") int pagesPerItem) {
+        if (pagesPerItem <= 0) {
+            throw new IllegalArgumentException("Cached pages per item must be positive");
+        }
+        this.items = new TtlCache<>(ttl, maxItems);
+        this.pagesPerItem = pagesPerItem;
+    }
+
+    /**
+     * The cached page, or the loader's result, cached unless the loader fails.
+     * {@code parentId} is null for top-level pages; {@code cursor} is null for offset pages.
+     */
+    public CommentPage get(Long itemId, Long parentId, String cursor, int page, int size,
+                           Supplier<CommentPage> loader) {
+        PageKey key = new PageKey(parentId, cursor, page, size);
+        // Take the bucket before loading so an invalidation during the load discards the result.
+        ItemPages pages = items.get(itemId);
+        if (pages != null) {
+            CommentPage cached = pages.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            CommentPage loaded = loader.get();
+            pages.put(key, loaded);
+            return loaded;
+        }
+        // No bucket yet: it is created after the load, and dropped again if the item was invalidated meanwhile.
+        long generation = invalidations.get();
+        CommentPage loaded = loader.get();
+        if (loaded != null && invalidations.get() == generation) {
+            items.get(itemId, id -> new ItemPages(pagesPerItem)).put(key, loaded);
+            if (invalidations.get() != generation) {
+                items.invalidate(itemId);
+            }
+        }
+        return loaded;
+    }
+
+    /** Drops every cached page of the item, after the current transaction commits if there is one. */
+    public void invalidate(Long itemId) {
+        if (itemId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            invalidations.incrementAndGet();
+            items.invalidate(itemId);
+        });
+    }
+
+    private record PageKey(Long parentId, String cursor, int page, int size) {
+    }
+
+    private static final class ItemPages {
+        private final Map<PageKey, CommentPage> pages;
+
+        ItemPages(int maxPages) {
+            this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PageKey, CommentPage> eldest) {
+                    return size() > maxPages;
+                }
+            };
+        }
+
+        synchronized CommentPage get(PageKey key) {
+            return pages.get(key);
+        }
+
+        synchronized void put(PageKey key, CommentPage page) {
+            if (page != null) {
+                pages.put(key, page);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.nexus.nexus.Cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small in-process cache whose entries expire a fixed time after they were written.
+ * <p>
+ * Meant for hot, cheap-to-recompute lookups where a few seconds of staleness is acceptable.
+ * When {@code maxSize} is reached, the least recently used entry makes room for the new one,
+ * so a burst of one-off keys cannot lock the hot ones out of the cache.
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final long ttlNanos;
+    private final LongSupplier nanoTime;
+
+    public TtlCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    TtlCache(Duration ttl, int maxSize, LongSupplier nanoTime) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /** The cached value, or null when absent or expired. Null keys are never cached. */
+    public synchronized V get(K key) {
+        Entry<V> entry = key == null ? null : entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt - nanoTime.getAsLong() <= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /** Caches the entry for {@code ttl}, capped at the cache's own TTL; non-positive TTLs are ignored. */
+    public void put(K key, V value, Duration ttl) {
+        put(key, value, Math.min(ttl.toNanos(), ttlNanos));
+    }
+
+    private synchronized void put(K key, V value, long entryTtlNanos) {
+        if (key == null || value == null || entryTtlNanos <= 0) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoTime.getAsLong() + entryTtlNanos));
+    }
+
+    /** Returns the cached value or loads, caches and returns it. Null results are not cached. */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        V loaded = loader.apply(key);
+        put(key, loaded);
+        return loaded;
+    }
+
+    public synchronized void invalidate(K key) {
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
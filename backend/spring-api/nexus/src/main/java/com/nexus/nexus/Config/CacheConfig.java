@@ -0,0 +1,27 @@
+package com.nexus.nexus.Config;
+
+import com.nexus.nexus.Cache.TtlCache;
+import com.nexus.nexus.Dto.UserItemCountsDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public TtlCache<Long, UserItemCountsDto> userItemCountsCache(
+            @Value("${items.user-counts.cache-ttl:PT30S}") Duration ttl,
+            @Value("${items.user-counts.cache-size:10000}") int maxSize) {
+        return new TtlCache<>(ttl, maxSize);
+    }
+
+    @Bean
+    public TtlCache<String, Long> userIdByEmailCache(
+            @Value("${users.id-cache.ttl:PT10M}") Duration ttl,
+            @Value("${users.id-cache.size:10000}") int maxSize) {
+        return new TtlCache<>(ttl, maxSize);
+    }
+}
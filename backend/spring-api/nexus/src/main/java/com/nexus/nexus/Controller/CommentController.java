@@ -31,15 +31,20 @@ public class CommentController {
     /**
      * GET /api/product/{itemId}/comments
      * Public — no JWT required (criterion 1: view comments).
-     * Returns paged top-level comments with nested replies.
+     * Returns paged top-level comments, each with a preview of its first replies.
+     * Offset paging by default. Sending {@code cursor} (empty for the first page, then the
+     * previous page's {@code next}) switches to keyset paging without a COUNT query.
      */
     @GetMapping
     public ResponseEntity<ResponseModel<CommentPage>> getComments(
             @PathVariable Long itemId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
 
-        CommentPage comments = commentService.getCommentsForItem(itemId, page, size);
+        CommentPage comments = cursor != null
+                ? commentService.getCommentsForItemAfter(itemId, cursor, size)
+                : commentService.getCommentsForItem(itemId, page, size);
         String message = comments.items().isEmpty() ? "No comments yet" : "Comments fetched successfully";
         return ResponseEntity.ok(ResponseModel.<CommentPage>builder()
                 .success(true)
@@ -48,6 +53,28 @@ public class CommentController {
                 .build());
     }
 
+    /**
+     * GET /api/product/{itemId}/comments/{commentId}/replies
+     * Public — no JWT required. Keyset page of a comment's direct replies, each with a preview of
+     * its own first replies. Send the comment's {@code repliesNext} (or nothing, to start from the
+     * first reply) as {@code cursor}, then each page's {@code next}.
+     */
+    @GetMapping("/{commentId}/replies")
+    public ResponseEntity<ResponseModel<CommentPage>> getReplies(
+            @PathVariable Long itemId,
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CommentPage replies = commentService.getReplies(itemId, commentId, cursor, size);
+        String message = replies.items().isEmpty() ? "No replies yet" : "Replies fetched successfully";
+        return ResponseEntity.ok(ResponseModel.<CommentPage>builder()
+                .success(true)
+                .message(message)
+                .data(replies)
+                .build());
+    }
+
     /**
      * POST /api/product/{itemId}/comments
      * Requires JWT (criterion 2: add comment, criterion 3: reply).
@@ -0,0 +1,59 @@
+package com.nexus.nexus.Controller;
+
+import com.nexus.nexus.Dto.ModerationActionRequestDto;
+import com.nexus.nexus.Dto.ModerationCaseDto;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Models.ResponseModel;
+import com.nexus.nexus.Service.ModerationService;
+import com.nexus.nexus.Service.ProductPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Review queue for flagged items and comments. Only the auth server (shared-secret header) may
+ * call it; admins reach it through the auth server's admin UI.
+ */
+@RestController
+@RequestMapping("/api/admin/moderation")
+@RequiredArgsConstructor
+public class ModerationController {
+
+    private final ModerationService moderationService;
+
+    /**
+     * GET /api/admin/moderation?state=actioned
+     * Cases oldest-first, optionally filtered by state (pending, actioned, dismissed, removed).
+     */
+    @GetMapping
+    public ResponseEntity<ResponseModel<ProductPage<ModerationCaseDto>>> getCases(
+            @RequestParam(required = false) String state,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        ProductPage<ModerationCaseDto> cases = moderationService.findCases(ModerationState.fromString(state), page, size);
+        return ResponseEntity.ok(ResponseModel.<ProductPage<ModerationCaseDto>>builder()
+                .success(true)
+                .message("Moderation cases fetched successfully")
+                .data(cases)
+                .build());
+    }
+
+    /**
+     * POST /api/admin/moderation/actions
+     * Body: { "case_ids": [1, 2], "action": "dismiss" | "remove" }
+     */
+    @PostMapping("/actions")
+    public ResponseEntity<ResponseModel<Void>> applyAction(@RequestBody ModerationActionRequestDto request) {
+        int closed = moderationService.applyAction(request);
+        return ResponseEntity.ok(ResponseModel.<Void>builder()
+                .success(true)
+                .message(closed + " moderation case(s) closed")
+                .build());
+    }
+}
@@ -8,11 +8,19 @@ import com.nexus.nexus.Dto.UserItemCountsDto;
 import com.nexus.nexus.Dto.CategoryDto;
 import com.nexus.nexus.Models.ResponseModel;
 import com.nexus.nexus.Security.JwtPrincipal;
+import com.nexus.nexus.Service.ProductImage;
 import com.nexus.nexus.Service.ProductPage;
 import com.nexus.nexus.Service.ProductService;
+import com.nexus.nexus.Enumaration.ImageVariant;
 import com.nexus.nexus.Enumaration.TypeOfReport;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
+import com.nexus.nexus.Storage.BlobResponseWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,10 +34,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.List;
 
 @RestController
@@ -40,11 +52,18 @@ public class ProductController {
 
     private final ProductService productService;
 
+    /**
+     * Offset paging by default. Sending {@code cursor} (empty for the first page, then the
+     * previous page's {@code next}) switches to keyset paging without a COUNT query.
+     */
     @GetMapping
     public ResponseEntity<ResponseModel<ProductPage<ProductListItemDto>>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "5") int size) {
-        ProductPage<ProductListItemDto> response = productService.findAllProducts(page, size);
+            @RequestParam(defaultValue = "5") int size,
+            @RequestParam(required = false) String cursor) {
+        ProductPage<ProductListItemDto> response = cursor != null
+                ? productService.findAllProductsAfter(cursor, size)
+                : productService.findAllProducts(page, size);
         String message = response.items().isEmpty() ? "No items found" : "Items fetched successfully";
         return ResponseEntity.ok(ResponseModel.<ProductPage<ProductListItemDto>>builder()
                 .success(true)
@@ -60,6 +79,31 @@ public class ProductController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Serves the item image by itself so the JSON payloads only carry a URL.
+     * The content hash is the ETag, so revalidation answers 304 without a body, and a single
+     * Range is honoured. When {@code v} matches the current hash the response is immutable;
+     * otherwise clients must revalidate. The bytes are streamed from the blob store file.
+     * {@code variant=small|medium} selects a downscaled copy once it has been generated.
+     */
+    @GetMapping("/{productId}/image")
+    public void getProductImage(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String variant,
+            @RequestParam(name = "v", required = false) String version,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        ProductImage image = productService.getProductImage(productId, ImageVariant.fromString(variant));
+        CacheControl cacheControl = image.hash().equals(version)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(image.hash())) {
+            return;
+        }
+        BlobResponseWriter.write(image.blob(), image.contentType(), request, response);
+    }
+
     @GetMapping("/search")
     public ResponseEntity<ResponseModel<List<ProductResponseDto>>> searchProducts(
             @RequestParam String keyword) {
@@ -74,6 +118,22 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("/search/text")
+    public ResponseEntity<ResponseModel<ProductPage<ProductListItemDto>>> searchByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        ProductPage<ProductListItemDto> response = productService.searchByText(q, page, size);
+        String message = response.items().isEmpty()
+                ? "No items found matching '" + q + "'"
+                : "Search results fetched successfully";
+        return ResponseEntity.ok(ResponseModel.<ProductPage<ProductListItemDto>>builder()
+                .success(true)
+                .message(message)
+                .data(response)
+                .build());
+    }
+
     @GetMapping("/search/location")
     public ResponseEntity<ResponseModel<ProductPage<ProductResponseDto>>> searchByLocation(
             @RequestParam(required = false) Double lat,
@@ -89,10 +149,12 @@ public class ProductController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
             OffsetDateTime to,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
 
-        ProductPage<ProductResponseDto> response =
-                productService.searchByLocation(lat, lon, radiusKm, name, type, categoryIds, from, to, page, size);
+        ProductPage<ProductResponseDto> response = cursor != null
+                ? productService.searchByLocationAfter(lat, lon, radiusKm, name, type, categoryIds, from, to, cursor, size)
+                : productService.searchByLocation(lat, lon, radiusKm, name, type, categoryIds, from, to, page, size);
         String message = response.items().isEmpty()
                 ? "No items found in the specified area"
                 : "Location search results fetched successfully";
@@ -105,7 +167,7 @@ public class ProductController {
 
     @GetMapping("/counts")
     public ResponseEntity<ResponseModel<ItemCountsDto>> getItemCounts() {
-        ItemCountsDto counts = productService.getItemCounts(ZoneId.of("Asia/Tehran"));
+        ItemCountsDto counts = productService.getItemCounts();
         return ResponseEntity.ok(ResponseModel.<ItemCountsDto>builder()
                 .success(true)
                 .message("Counts fetched successfully")
@@ -124,12 +186,23 @@ public class ProductController {
                 .build());
     }
 
+    @GetMapping("/counts/users")
+    public ResponseEntity<ResponseModel<List<UserItemCountsDto>>> getUsersItemCounts(
+        @RequestParam List<Long> ids
+    ) {
+        List<UserItemCountsDto> counts = productService.getUsersItemCounts(ids);
+        return ResponseEntity.ok(ResponseModel.<List<UserItemCountsDto>>builder()
+                .success(true)
+                .message("User counts fetched successfully")
+                .data(counts)
+                .build());
+    }
+
     @GetMapping("/counts/{userId}")
     public ResponseEntity<ResponseModel<UserItemCountsDto>> getPublicProfileItems(
         @PathVariable Long userId
     ) {
-        JwtPrincipal principal = getJwtPrincipal();
-        UserItemCountsDto counts = productService.getUserItemCounts(principal);
+        UserItemCountsDto counts = productService.getUserItemCounts(userId);
         return ResponseEntity.ok(ResponseModel.<UserItemCountsDto>builder()
                 .success(true)
                 .message("User counts fetched successfully")
@@ -162,6 +235,25 @@ public class ProductController {
                 .build());
     }
 
+    /**
+     * Multipart variant of {@link #addProduct}: the {@code item} part carries the JSON fields and
+     * the optional {@code image} part is streamed to storage instead of riding along as Base64.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseModel<ProductResponseDto>> addProductMultipart(
+            @RequestPart("item") ProductRequestDto request,
+            @RequestPart(name = "image", required = false) MultipartFile image) {
+
+        JwtPrincipal principal = getJwtPrincipal();
+
+        ProductResponseDto response = productService.addProduct(request, uploadedOrNull(image), principal);
+        return ResponseEntity.ok(ResponseModel.<ProductResponseDto>builder()
+                .success(true)
+                .message("Product added successfully")
+                .data(response)
+                .build());
+    }
+
     @DeleteMapping({"/{productId}", "/{productId}/"})
     public ResponseEntity<Void> deleteProduct(
             @PathVariable Long productId) {
@@ -187,6 +279,23 @@ public class ProductController {
                 .build());
     }
 
+    @PatchMapping(path = "/{productId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ResponseModel<ProductResponseDto>> updateProductMultipart(
+            @RequestPart(name = "item", required = false) ProductRequestDto request,
+            @RequestPart(name = "image", required = false) MultipartFile image,
+            @PathVariable Long productId) {
+
+        JwtPrincipal principal = getJwtPrincipal();
+
+        ProductResponseDto response =
+                productService.updateProduct(productId, request, uploadedOrNull(image), principal);
+        return ResponseEntity.ok(ResponseModel.<ProductResponseDto>builder()
+                .success(true)
+                .message("Product updated successfully")
+                .data(response)
+                .build());
+    }
+
     @PostMapping("/{productId}/report")
     public ResponseEntity<ResponseModel<Void>> reportItem(
             @PathVariable Long productId) {
@@ -200,6 +309,10 @@ public class ProductController {
                 .build());
     }
 
+    private static MultipartFile uploadedOrNull(MultipartFile file) {
+        return file == null || file.isEmpty() ? null : file;
+    }
+
     private JwtPrincipal getJwtPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
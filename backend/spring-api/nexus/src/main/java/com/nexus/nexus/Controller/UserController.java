@@ -1,7 +1,9 @@
 package com.nexus.nexus.Controller;
 
+import com.nexus.nexus.Dto.RevokedTokenDto;
 import com.nexus.nexus.Dto.UserRegisterDto;
 import com.nexus.nexus.Models.ResponseModel;
+import com.nexus.nexus.Security.TokenRevocationList;
 import com.nexus.nexus.Service.UserService;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
@@ -13,6 +15,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -20,6 +24,7 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserController{
 
     private final UserService userService;
+    private final TokenRevocationList tokenRevocationList;
 
     @PostMapping()
     public ResponseEntity<ResponseModel<Void>> registerUser(
@@ -71,4 +76,24 @@ public class UserController{
         }
     }
 
+    /** Revocation feed from the auth server; tokens listed here are refused until they expire. */
+    @PostMapping("/revoked-tokens")
+    public ResponseEntity<ResponseModel<Void>> revokeTokens(
+            @RequestBody List<RevokedTokenDto> tokens
+    ){
+        if (tokens == null || tokens.isEmpty()) {
+            throw new IllegalArgumentException("No tokens to revoke");
+        }
+        for (RevokedTokenDto token : tokens) {
+            if (token == null || token.getJti() == null || token.getJti().isBlank()
+                    || token.getExpiresAt() == null) {
+                throw new IllegalArgumentException("Each revoked token needs jti and expires_at");
+            }
+        }
+        tokens.forEach(token -> tokenRevocationList.revoke(token.getJti(), token.getExpiresAt().toInstant()));
+        return ResponseEntity.ok(ResponseModel.<Void>builder()
+                .success(true)
+                .message(tokens.size() + " token(s) revoked")
+                .build());
+    }
 }
@@ -11,8 +11,8 @@ import java.util.List;
 
 /**
  * Response DTO for a comment.
- * Top-level comments carry a populated {@code replies} list.
- * Reply objects always have an empty replies list (one level of nesting only).
+ * Comments in a page carry a preview of their first direct replies; replies beyond the preview,
+ * and replies of the previewed replies, are paged through the replies endpoint.
  */
 @Getter
 @Setter
@@ -29,6 +29,12 @@ public class CommentResponseDto {
     /** Id of the parent comment; null for top-level comments. */
     private Long parentCommentId;
 
-    /** Populated only for top-level comments (criterion 4: visually nested). */
+    /** Number of direct replies, whether or not they are included in {@code replies}. */
+    private int replyCount;
+
+    /** First direct replies, oldest-first; empty when none were loaded (criterion 4: visually nested). */
     private List<CommentResponseDto> replies;
+
+    /** Cursor for the replies after {@code replies}; null when the preview already holds them all. */
+    private String repliesNext;
 }
@@ -0,0 +1,24 @@
+package com.nexus.nexus.Dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nexus.nexus.Enumaration.ModerationAction;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModerationActionRequestDto {
+
+    @JsonProperty("case_ids")
+    private List<Long> caseIds;
+
+    private ModerationAction action;
+}
@@ -0,0 +1,31 @@
+package com.nexus.nexus.Dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Setter
+@Getter
+@Builder
+public class ModerationCaseDto {
+    private Long id;
+
+    @JsonProperty("target_type")
+    private ModerationTargetType targetType;
+
+    @JsonProperty("target_id")
+    private Long targetId;
+
+    private ModerationState state;
+
+    @JsonProperty("created_at")
+    private OffsetDateTime createdAt;
+
+    @JsonProperty("updated_at")
+    private OffsetDateTime updatedAt;
+}
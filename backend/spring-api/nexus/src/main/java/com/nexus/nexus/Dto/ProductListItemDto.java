@@ -26,6 +26,7 @@ public class ProductListItemDto {
     private String latitude;
     private String longitude;
     private String status;
+    private String thumbnail;
 
     private ReporterDto reporter;
 
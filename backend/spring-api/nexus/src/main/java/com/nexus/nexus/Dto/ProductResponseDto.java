@@ -27,6 +27,7 @@ public class ProductResponseDto {
     private String longitude;
     private String status;
     private String image;
+    private String thumbnail;
 
     private ReporterDto reporter;
 
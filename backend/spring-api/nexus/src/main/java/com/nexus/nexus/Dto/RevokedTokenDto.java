@@ -0,0 +1,22 @@
+package com.nexus.nexus.Dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedTokenDto {
+    private String jti;
+
+    @JsonProperty("expires_at")
+    private OffsetDateTime expiresAt;
+}
@@ -10,9 +10,18 @@ import lombok.Setter;
 @Builder
 public class UserItemCountsDto {
 
+    @JsonProperty("user_id")
+    private Long userId;
+
     @JsonProperty("found_reported")
     private long foundReported;
 
     @JsonProperty("lost_reported")
     private long lostReported;
+
+    @JsonProperty("active")
+    private long active;
+
+    @JsonProperty("delivered")
+    private long delivered;
 }
@@ -14,6 +14,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDateTime;
 
@@ -26,6 +28,11 @@ import java.time.LocalDateTime;
 @Table(name = "comment")
 public class Comment {
 
+    public static final String ROOT_PATH = "/";
+
+    /** Deepest reply allowed; keeps {@link #path} (at most 20 characters per level) within its column. */
+    public static final int MAX_DEPTH = 50;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -47,9 +54,33 @@ public class Comment {
 
     /**
      * Null means this is a top-level comment.
-     * Non-null means this is a reply to another comment.
+     * Non-null means this is a reply to another comment; deleting a comment deletes its replies.
      */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "parent_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Comment parent;
+
+    /** 0 for top-level comments, parent depth + 1 for replies. */
+    @Column(nullable = false)
+    @Builder.Default
+    private int depth = 0;
+
+    /**
+     * Ids of the ancestors, root first, as {@code /<root>/.../<parent>/}; {@code /} at the top.
+     * The subtree below this comment is every comment whose path starts with {@link #childPath()}.
+     */
+    @Column(nullable = false, length = 1024)
+    @Builder.Default
+    private String path = ROOT_PATH;
+
+    /** Number of direct replies, kept up to date as replies are added and removed. */
+    @Column(name = "reply_count", nullable = false)
+    @Builder.Default
+    private int replyCount = 0;
+
+    /** Path of this comment's direct replies. */
+    public String childPath() {
+        return path + id + "/";
+    }
 }
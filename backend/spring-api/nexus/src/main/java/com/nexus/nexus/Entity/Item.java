@@ -12,6 +12,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
@@ -31,8 +33,15 @@ import java.time.OffsetDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "items_item", schema = "auth")
+@NamedEntityGraph(name = Item.WITH_REPORTER_AND_CATEGORY, attributeNodes = {
+        @NamedAttributeNode("reporter"),
+        @NamedAttributeNode("category")
+})
 public class Item {
 
+    /** Fetch plan for anything that maps an item to a DTO: both associations in the same select. */
+    public static final String WITH_REPORTER_AND_CATEGORY = "Item.withReporterAndCategory";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -61,9 +70,17 @@ public class Item {
     @Column(name = "longitude", precision = 9, scale = 6, nullable = false)
     private BigDecimal longitude;
 
-    /** Raw image bytes stored as bytea in Postgres. */
-    @Column(name = "image", columnDefinition = "bytea")
-    private byte[] image;
+    /** SHA-256 of the item's image in the blob store; doubles as its ETag. Null when there is no image. */
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    /** Thumbnail derived in the background from {@link #imageHash}; null until it is ready. */
+    @Column(name = "image_small_hash", length = 64)
+    private String imageSmallHash;
+
+    /** Medium-size variant derived in the background from {@link #imageHash}; null until it is ready. */
+    @Column(name = "image_medium_hash", length = 64)
+    private String imageMediumHash;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "reporter_id", nullable = false)
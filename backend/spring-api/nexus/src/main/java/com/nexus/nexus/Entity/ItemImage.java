@@ -0,0 +1,49 @@
+package com.nexus.nexus.Entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Image bytes of an item, stored apart from {@code items_item} and keyed by their SHA-256 hash.
+ * Identical uploads share a single row.
+ */
+@Entity
+@Setter
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_image", schema = "auth")
+public class ItemImage {
+
+    /** Lower-case hex SHA-256 of {@link #data}. */
+    @Id
+    @Column(name = "hash", length = 64)
+    private String hash;
+
+    @Column(name = "data", nullable = false, columnDefinition = "bytea")
+    private byte[] data;
+
+    @Column(name = "content_length", nullable = false)
+    private Long contentLength;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = OffsetDateTime.now();
+        }
+    }
+}
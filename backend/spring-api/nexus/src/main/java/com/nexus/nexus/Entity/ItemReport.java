@@ -50,4 +50,8 @@ public class ItemReport {
 
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
+
+    /** When the moderation worker counted this report; null until then. */
+    @Column(name = "processed_at")
+    private OffsetDateTime processedAt;
 }
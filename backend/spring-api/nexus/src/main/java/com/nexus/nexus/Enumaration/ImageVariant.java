@@ -0,0 +1,19 @@
+package com.nexus.nexus.Enumaration;
+
+public enum ImageVariant {
+    ORIGINAL,
+    SMALL,
+    MEDIUM;
+
+    /** Lenient parse for query parameters; {@code null} or blank means the original. */
+    public static ImageVariant fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return ORIGINAL;
+        }
+        try {
+            return ImageVariant.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown image variant: " + value);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.nexus.nexus.Enumaration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+public enum ModerationAction {
+    /** The report was unfounded: a hidden item goes back to ACTIVE. */
+    DISMISS,
+    /** The report was right: the item or comment is deleted. */
+    REMOVE;
+
+    @JsonCreator
+    public static ModerationAction fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return ModerationAction.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown moderation action: " + value);
+        }
+    }
+}
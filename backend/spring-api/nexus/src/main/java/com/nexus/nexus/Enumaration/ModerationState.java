@@ -0,0 +1,40 @@
+package com.nexus.nexus.Enumaration;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Lifecycle of a moderation case: PENDING until the worker applies the automatic outcome
+ * (ACTIONED for items, which are hidden as REPORTED; REMOVED for comments, which are deleted with
+ * their replies and not reviewed), then closed by an admin as DISMISSED or REMOVED. A case whose
+ * target was already deleted or no longer ACTIVE when the worker reached it is closed as STALE. A DISMISSED case goes back to PENDING only once its target has
+ * been reported up to the threshold again after the dismissal.
+ */
+public enum ModerationState {
+    PENDING,
+    ACTIONED,
+    DISMISSED,
+    REMOVED,
+    STALE;
+
+    public boolean isOpen() {
+        return this == PENDING || this == ACTIONED;
+    }
+
+    @JsonCreator
+    public static ModerationState fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return ModerationState.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown moderation state: " + value);
+        }
+    }
+
+    @JsonValue
+    public String toJson() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,13 @@
+package com.nexus.nexus.Enumaration;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+public enum ModerationTargetType {
+    ITEM,
+    COMMENT;
+
+    @JsonValue
+    public String toJson() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,114 @@
+package com.nexus.nexus.Image;
+
+import javax.imageio.stream.ImageInputStream;
+import java.awt.geom.AffineTransform;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Reads the EXIF orientation tag of a JPEG and turns it into the transform that puts
+ * the pixels upright. Phones store photos sideways and rely on this tag, which is lost once
+ * the image is re-encoded without metadata.
+ */
+final class ExifOrientation {
+
+    static final int NORMAL = 1;
+
+    private static final int SOI = 0xFFD8;
+    private static final int SOS = 0xFFDA;
+    private static final int EOI = 0xFFD9;
+    private static final int APP1 = 0xFFE1;
+    private static final byte[] EXIF_HEADER = {'E', 'x', 'i', 'f', 0, 0};
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private ExifOrientation() {
+    }
+
+    /**
+     * Orientation 1..8 from the first EXIF APP1 segment of a JPEG, or {@link #NORMAL} when absent,
+     * not a JPEG or unreadable. Walks the marker segments itself because the JDK metadata reader
+     * rejects files whose EXIF segment precedes JFIF. The stream position is restored.
+     */
+    static int read(ImageInputStream input) {
+        try {
+            ByteOrder byteOrder = input.getByteOrder();
+            input.mark();
+            try {
+                input.setByteOrder(ByteOrder.BIG_ENDIAN);
+                if (input.readUnsignedShort() != SOI) {
+                    return NORMAL;
+                }
+                while (true) {
+                    int marker = input.readUnsignedShort();
+                    if ((marker & 0xFF00) != 0xFF00 || marker == SOS || marker == EOI) {
+                        return NORMAL;
+                    }
+                    int length = input.readUnsignedShort();
+                    if (length < 2) {
+                        return NORMAL;
+                    }
+                    if (marker == APP1) {
+                        byte[] segment = new byte[length - 2];
+                        input.readFully(segment);
+                        int orientation = parse(segment);
+                        if (orientation != NORMAL) {
+                            return orientation;
+                        }
+                    } else {
+                        input.skipBytes(length - 2);
+                    }
+                }
+            } finally {
+                input.reset();
+                input.setByteOrder(byteOrder);
+            }
+        } catch (IOException e) {
+            return NORMAL;
+        }
+    }
+
+    /** Parses an APP1 payload ("Exif\0\0" followed by a TIFF structure) for IFD0's orientation. */
+    static int parse(byte[] app1) {
+        try {
+            if (app1.length < EXIF_HEADER.length + 8
+                    || !Arrays.equals(Arrays.copyOf(app1, EXIF_HEADER.length), EXIF_HEADER)) {
+                return NORMAL;
+            }
+            ByteBuffer tiff = ByteBuffer.wrap(app1, EXIF_HEADER.length, app1.length - EXIF_HEADER.length).slice();
+            tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            int ifd = tiff.getInt(4);
+            int entries = Short.toUnsignedInt(tiff.getShort(ifd));
+            for (int i = 0; i < entries; i++) {
+                int entry = ifd + 2 + i * 12;
+                if (Short.toUnsignedInt(tiff.getShort(entry)) == ORIENTATION_TAG) {
+                    int orientation = Short.toUnsignedInt(tiff.getShort(entry + 8));
+                    return orientation >= 1 && orientation <= 8 ? orientation : NORMAL;
+                }
+            }
+        } catch (IndexOutOfBoundsException e) {
+            // Truncated or malformed EXIF; treat as upright.
+        }
+        return NORMAL;
+    }
+
+    /** True when the orientation swaps width and height. */
+    static boolean swapsDimensions(int orientation) {
+        return orientation >= 5 && orientation <= 8;
+    }
+
+    /** Maps source pixel coordinates of a {@code width x height} image to upright coordinates. */
+    static AffineTransform transform(int orientation, int width, int height) {
+        return switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> new AffineTransform();
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package com.nexus.nexus.Image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Ingest step for uploaded item images: decodes, rotates upright, caps the longest edge and
+ * re-encodes as JPEG. The new file carries no EXIF, so camera details and GPS coordinates
+ * from the phone are not published along with the photo.
+ */
+@Component
+public class ImageNormalizer {
+    private static final Logger log = LoggerFactory.getLogger(ImageNormalizer.class);
+
+    private final int maxEdge;
+    private final float quality;
+
+    public ImageNormalizer(
+            @Value("${items.images.max-edge:1600}") int maxEdge,
+            @Value("${items.images.quality:0.85}") float quality
+    ) {
+        if (maxEdge <= 0 || quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException("items.images.max-edge must be positive and quality in (0, 1]");
+        }
+        this.maxEdge = maxEdge;
+        this.quality = quality;
+    }
+
+    /**
+     * Returns the normalized JPEG, or empty when ImageIO cannot decode the upload (for example
+     * WebP, HEIC or something that is not an image at all); callers decide whether to reject it.
+     */
+    public Optional<byte[]> normalize(InputStreamSource upload) {
+        try (InputStream content = upload.getInputStream()) {
+            BufferedImage decoded = ImageResizer.read(content, maxEdge);
+            if (decoded == null) {
+                return Optional.empty();
+            }
+            return Optional.of(ImageResizer.writeJpeg(ImageResizer.scaleToFit(decoded, maxEdge), quality));
+        } catch (IOException e) {
+            log.debug("Upload could not be decoded: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
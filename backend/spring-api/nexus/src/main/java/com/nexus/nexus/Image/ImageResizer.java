@@ -0,0 +1,142 @@
+package com.nexus.nexus.Image;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.FileImageInputStream;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * Decoding, downscaling and JPEG encoding on top of {@code javax.imageio}.
+ * Stateless; callers decide which thread the work runs on.
+ */
+public final class ImageResizer {
+
+    private ImageResizer() {
+    }
+
+    /**
+     * Decodes the image, letting the codec skip pixels when the source is far larger than
+     * {@code targetEdge}. The result keeps at least twice the target edge so the final
+     * downscale still has detail to work with, and is rotated upright per its EXIF orientation.
+     * Returns {@code null} when no ImageIO reader recognises the format.
+     */
+    public static BufferedImage read(Path source, int targetEdge) throws IOException {
+        // Opened directly rather than through ImageIO, which reports a missing file as an IIOException.
+        try (ImageInputStream input = new FileImageInputStream(source.toFile())) {
+            return read(input, targetEdge);
+        }
+    }
+
+    /** Same as {@link #read(Path, int)} for an upload; the stream is buffered by ImageIO's cache, not the heap. */
+    public static BufferedImage read(InputStream source, int targetEdge) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            return read(input, targetEdge);
+        }
+    }
+
+    private static BufferedImage read(ImageInputStream input, int targetEdge) throws IOException {
+        if (input == null) {
+            throw new IOException("Cannot open image");
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        try {
+            int orientation = ExifOrientation.read(input);
+            reader.setInput(input, true, true);
+            int longestEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+            int subsampling = Math.max(1, longestEdge / (targetEdge * 2));
+            ImageReadParam param = reader.getDefaultReadParam();
+            param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+            BufferedImage image = reader.read(0, param);
+            return orient(image, orientation);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        if (orientation == ExifOrientation.NORMAL) {
+            return source;
+        }
+        int width = source.getWidth();
+        int height = source.getHeight();
+        boolean swap = ExifOrientation.swapsDimensions(orientation);
+        BufferedImage target = new BufferedImage(swap ? height : width, swap ? width : height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.drawImage(source, ExifOrientation.transform(orientation, width, height), null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Scales {@code source} so its longest edge is at most {@code maxEdge}, flattening any alpha
+     * onto white because JPEG has none. Large reductions are done in halving steps, which keeps
+     * bilinear filtering from aliasing.
+     */
+    public static BufferedImage scaleToFit(BufferedImage source, int maxEdge) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        BufferedImage current = source;
+        int currentWidth = width;
+        int currentHeight = height;
+        do {
+            currentWidth = Math.max(targetWidth, currentWidth / 2);
+            currentHeight = Math.max(targetHeight, currentHeight / 2);
+            current = draw(current, currentWidth, currentHeight);
+        } while (currentWidth != targetWidth || currentHeight != targetHeight);
+        return current;
+    }
+
+    public static byte[] writeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static BufferedImage draw(BufferedImage source, int width, int height) {
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+}
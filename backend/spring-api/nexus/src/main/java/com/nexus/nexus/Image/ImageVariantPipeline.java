@@ -0,0 +1,140 @@
+package com.nexus.nexus.Image;
+
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Storage.BlobStore;
+import com.nexus.nexus.Storage.StoredBlob;
+import com.nexus.nexus.Transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOException;
+import java.awt.image.BufferedImage;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Derives the small and medium JPEG variants of an item image off the request thread.
+ * <p>
+ * Work runs on a small bounded pool; when the queue is full the job is dropped and the item
+ * keeps serving its original image until the next upload. Jobs are submitted after the
+ * surrounding transaction commits, and the result is only written back if the item still
+ * points at the same original, so a newer upload is never overwritten by a stale job.
+ * <p>
+ * An image that is already queued or being processed is not queued again. An image the decoder
+ * rejects (a format ImageIO has no reader for, or bytes it cannot parse) gets its original
+ * recorded as both variants, so it is served as-is and never resubmitted. Any other failure
+ * leaves the variants unset, and the next read of a variant submits the image again.
+ */
+@Component
+public class ImageVariantPipeline implements DisposableBean {
+    private static final Logger log = LoggerFactory.getLogger(ImageVariantPipeline.class);
+
+    private final BlobStore blobStore;
+    private final ReportRepository reportRepository;
+    private final int smallEdge;
+    private final int mediumEdge;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+    private final Set<Job> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantPipeline(
+            BlobStore blobStore,
+            ReportRepository reportRepository,
+            @Value("${items.images.small-edge:160}") int smallEdge,
+            @Value("${items.images.medium-edge:640}") int mediumEdge,
+            @Value("${items.images.variant-quality:0.8}") float quality,
+            @Value("${items.images.variant-threads:2}") int threads,
+            @Value("${items.images.variant-queue-capacity:100}") int queueCapacity
+    ) {
+        if (smallEdge <= 0 || mediumEdge < smallEdge) {
+            throw new IllegalArgumentException("items.images edges must be positive and small <= medium");
+        }
+        this.blobStore = blobStore;
+        this.reportRepository = reportRepository;
+        this.smallEdge = smallEdge;
+        this.mediumEdge = mediumEdge;
+        this.quality = quality;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Schedules variant generation for the item's current image once the caller's transaction commits. */
+    public void submit(Long itemId, String imageHash) {
+        if (itemId == null || imageHash == null) {
+            return;
+        }
+        AfterCommit.run(() -> enqueue(itemId, imageHash));
+    }
+
+    void generate(Long itemId, String imageHash) {
+        StoredBlob original = blobStore.find(imageHash).orElse(null);
+        if (original == null) {
+            log.warn("Image {} of item {} is not in the blob store, skipping variants", imageHash, itemId);
+            return;
+        }
+        try {
+            BufferedImage decoded = ImageResizer.read(original.file(), mediumEdge);
+            if (decoded == null) {
+                recordOriginalAsVariants(itemId, imageHash, "format not supported by the decoder");
+                return;
+            }
+            BufferedImage medium = ImageResizer.scaleToFit(decoded, mediumEdge);
+            BufferedImage small = ImageResizer.scaleToFit(medium, smallEdge);
+            String mediumHash = blobStore.put(ImageResizer.writeJpeg(medium, quality));
+            String smallHash = blobStore.put(ImageResizer.writeJpeg(small, quality));
+            reportRepository.updateImageVariants(itemId, imageHash, smallHash, mediumHash);
+        } catch (IIOException e) {
+            recordOriginalAsVariants(itemId, imageHash, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Could not build image variants for item {}, will retry on a later read: {}",
+                    itemId, e.getMessage());
+        }
+    }
+
+    private void recordOriginalAsVariants(Long itemId, String imageHash, String reason) {
+        log.warn("Could not decode image of item {}, serving the original instead: {}", itemId, reason);
+        reportRepository.updateImageVariants(itemId, imageHash, imageHash, imageHash);
+    }
+
+    private void enqueue(Long itemId, String imageHash) {
+        Job job = new Job(itemId, imageHash);
+        if (!inFlight.add(job)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(itemId, imageHash);
+                } finally {
+                    inFlight.remove(job);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(job);
+            log.warn("Image variant queue is full, item {} keeps its original image only", itemId);
+        }
+    }
+
+    private record Job(Long itemId, String imageHash) {
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
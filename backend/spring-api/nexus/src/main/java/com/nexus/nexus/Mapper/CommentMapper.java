@@ -16,6 +16,7 @@ public interface CommentMapper {
     @Mapping(source = "author.fullName", target = "author.fullName")
     @Mapping(source = "parent.id", target = "parentCommentId")
     @Mapping(target = "replies", ignore = true)
+    @Mapping(target = "repliesNext", ignore = true)
     CommentResponseDto toDto(Comment comment);
 
     List<CommentResponseDto> toDtoList(List<Comment> comments);
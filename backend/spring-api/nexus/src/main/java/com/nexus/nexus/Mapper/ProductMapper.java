@@ -5,8 +5,12 @@ import com.nexus.nexus.Dto.ProductListItemDto;
 import com.nexus.nexus.Dto.ReporterDto;
 import com.nexus.nexus.Entity.Item;
 import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Repository.ItemRow;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
 
@@ -20,7 +24,8 @@ public interface ProductMapper {
     @Mapping(target = "status", expression = "java(item.getStatus() != null ? item.getStatus().name().toLowerCase() : null)")
     @Mapping(target = "latitude", expression = "java(item.getLatitude() != null ? item.getLatitude().toPlainString() : null)")
     @Mapping(target = "longitude", expression = "java(item.getLongitude() != null ? item.getLongitude().toPlainString() : null)")
-    @Mapping(target = "image", expression = "java(withImageDataUrl(item.getImage()))")
+    @Mapping(target = "image", expression = "java(imageUrl(item.getId(), item.getImageHash()))")
+    @Mapping(target = "thumbnail", expression = "java(thumbnailUrl(item.getId(), item.getImageHash(), item.getImageSmallHash()))")
     ProductResponseDto toDto(Item item);
 
     List<ProductResponseDto> toDtoList(List<Item> items);
@@ -32,20 +37,72 @@ public interface ProductMapper {
     @Mapping(target = "status", expression = "java(item.getStatus() != null ? item.getStatus().name().toLowerCase() : null)")
     @Mapping(target = "latitude", expression = "java(item.getLatitude() != null ? item.getLatitude().toPlainString() : null)")
     @Mapping(target = "longitude", expression = "java(item.getLongitude() != null ? item.getLongitude().toPlainString() : null)")
+    @Mapping(target = "thumbnail", expression = "java(thumbnailUrl(item.getId(), item.getImageHash(), item.getImageSmallHash()))")
     ProductListItemDto toListItemDto(Item item);
 
     List<ProductListItemDto> toListItemDtoList(List<Item> items);
 
+    @Mapping(target = "type", expression = "java(row.type() != null ? row.type().name().toLowerCase() : null)")
+    @Mapping(target = "status", expression = "java(row.status() != null ? row.status().name().toLowerCase() : null)")
+    @Mapping(target = "latitude", expression = "java(row.latitude() != null ? row.latitude().toPlainString() : null)")
+    @Mapping(target = "longitude", expression = "java(row.longitude() != null ? row.longitude().toPlainString() : null)")
+    @Mapping(target = "thumbnail", expression = "java(thumbnailUrl(row.id(), row.imageHash(), row.imageSmallHash()))")
+    @Mapping(target = "reporter", expression = "java(rowReporter(row))")
+    ProductListItemDto toListItemDto(ItemRow row);
+
+    List<ProductListItemDto> rowsToListItemDtos(List<ItemRow> rows);
+
     @Mapping(source = "fullName", target = "name")
     @Mapping(source = "registrationDate", target = "createdAt")
     @Mapping(source = "isVerified", target = "isVerified")
     ReporterDto toReporterDto(User user);
 
-    default String withImageDataUrl(byte[] imageBytes) {
-        if (imageBytes == null || imageBytes.length == 0) {
+    default ReporterDto rowReporter(ItemRow row) {
+        if (row.reporterId() == null) {
+            return null;
+        }
+        return ReporterDto.builder()
+                .id(row.reporterId())
+                .email(row.reporterEmail())
+                .name(row.reporterName())
+                .createdAt(row.reporterRegistrationDate())
+                .isVerified(row.reporterIsVerified())
+                .build();
+    }
+
+    /**
+     * Link to the image endpoint. The {@code v} parameter pins the URL to the current image bytes,
+     * so clients and proxies may cache it for good; a new image produces a new URL.
+     */
+    default String imageUrl(Long itemId, String imageHash) {
+        if (itemId == null || imageHash == null) {
+            return null;
+        }
+        return imageEndpoint(itemId, null, imageHash);
+    }
+
+    /**
+     * Link to the small variant. Until the background job has produced it the link carries no
+     * {@code v}, so clients revalidate and pick up the thumbnail once it exists.
+     */
+    default String thumbnailUrl(Long itemId, String imageHash, String smallHash) {
+        if (itemId == null || imageHash == null) {
             return null;
         }
-        String base64 = java.util.Base64.getEncoder().encodeToString(imageBytes);
-        return "data:image/jpeg;base64," + base64;
+        return imageEndpoint(itemId, "small", smallHash);
+    }
+
+    private String imageEndpoint(Long itemId, String variant, String version) {
+        UriComponentsBuilder builder = RequestContextHolder.getRequestAttributes() != null
+                ? ServletUriComponentsBuilder.fromCurrentContextPath()
+                : UriComponentsBuilder.newInstance();
+        builder.path("/api/items/{id}/image");
+        if (variant != null) {
+            builder.queryParam("variant", variant);
+        }
+        if (version != null) {
+            builder.queryParam("v", version);
+        }
+        return builder.buildAndExpand(itemId).toUriString();
     }
 }
@@ -5,6 +5,7 @@ import com.nexus.nexus.Dto.ProductResponseDto;
 import com.nexus.nexus.Dto.ReporterDto;
 import com.nexus.nexus.Entity.Item;
 import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Repository.ItemRow;
 import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Component;
 
@@ -31,7 +32,8 @@ public class ProductMapperImplManual implements ProductMapper {
                 .latitude(item.getLatitude() != null ? item.getLatitude().toPlainString() : null)
                 .longitude(item.getLongitude() != null ? item.getLongitude().toPlainString() : null)
                 .status(item.getStatus() != null ? item.getStatus().name().toLowerCase() : null)
-                .image(withImageDataUrl(item.getImage()))
+                .image(imageUrl(item.getId(), item.getImageHash()))
+                .thumbnail(thumbnailUrl(item.getId(), item.getImageHash(), item.getImageSmallHash()))
                 .reporter(toReporterDto(item.getReporter()))
                 .createdAt(item.getCreatedAt())
                 .updatedAt(item.getUpdatedAt())
@@ -66,6 +68,7 @@ public class ProductMapperImplManual implements ProductMapper {
                 .latitude(item.getLatitude() != null ? item.getLatitude().toPlainString() : null)
                 .longitude(item.getLongitude() != null ? item.getLongitude().toPlainString() : null)
                 .status(item.getStatus() != null ? item.getStatus().name().toLowerCase() : null)
+                .thumbnail(thumbnailUrl(item.getId(), item.getImageHash(), item.getImageSmallHash()))
                 .reporter(toReporterDto(item.getReporter()))
                 .createdAt(item.getCreatedAt())
                 .updatedAt(item.getUpdatedAt())
@@ -84,6 +87,41 @@ public class ProductMapperImplManual implements ProductMapper {
         return result;
     }
 
+    @Override
+    public ProductListItemDto toListItemDto(ItemRow row) {
+        if (row == null) {
+            return null;
+        }
+
+        return ProductListItemDto.builder()
+                .id(row.id())
+                .type(row.type() != null ? row.type().name().toLowerCase() : null)
+                .name(row.name())
+                .description(row.description())
+                .categoryId(row.categoryId())
+                .categoryName(row.categoryName())
+                .latitude(row.latitude() != null ? row.latitude().toPlainString() : null)
+                .longitude(row.longitude() != null ? row.longitude().toPlainString() : null)
+                .status(row.status() != null ? row.status().name().toLowerCase() : null)
+                .thumbnail(thumbnailUrl(row.id(), row.imageHash(), row.imageSmallHash()))
+                .reporter(rowReporter(row))
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .build();
+    }
+
+    @Override
+    public List<ProductListItemDto> rowsToListItemDtos(List<ItemRow> rows) {
+        if (rows == null) {
+            return List.of();
+        }
+        List<ProductListItemDto> result = new ArrayList<>(rows.size());
+        for (ItemRow row : rows) {
+            result.add(toListItemDto(row));
+        }
+        return result;
+    }
+
     @Override
     public ReporterDto toReporterDto(User user) {
         if (user == null) {
@@ -0,0 +1,51 @@
+package com.nexus.nexus.Moderation;
+
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Counts an item report as it is filed, without reading the item or holding locks in between.
+ * <p>
+ * One atomic UPDATE adds the report to {@code reported_counts}; when the report is the one that
+ * takes an ACTIVE item to {@code moderation.report-threshold}, the same statement flips the item to
+ * REPORTED. {@link ModerationWorker} then opens the moderation case for it. Callers provide the
+ * transaction.
+ */
+@Component
+public class ItemReportCounter {
+
+    private final ReportRepository reportRepository;
+    private final ModerationActions moderationActions;
+    private final int reportThreshold;
+
+    public ItemReportCounter(ReportRepository reportRepository,
+                             ModerationActions moderationActions,
+                             @Value("${moderation.report-threshold:3}") int reportThreshold) {
+        this.reportRepository = reportRepository;
+        this.moderationActions = moderationActions;
+        this.reportThreshold = reportThreshold;
+    }
+
+    /** Counts one more report against the item; returns whether this report flagged it. */
+    public boolean countReport(Long itemId) {
+        OffsetDateTime now = OffsetDateTime.now();
+        while (true) {
+            if (reportRepository.incrementReportedCounts(itemId, Status.ACTIVE, reportThreshold, now) == 1) {
+                return false;
+            }
+            if (reportRepository.incrementReportedCountsAndFlag(itemId, Status.ACTIVE, Status.REPORTED,
+                    reportThreshold, now) == 1) {
+                moderationActions.itemHidden(itemId);
+                return true;
+            }
+            // A concurrent report moved the counter between the two statements; try again.
+            if (!reportRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item not found");
+            }
+        }
+    }
+}
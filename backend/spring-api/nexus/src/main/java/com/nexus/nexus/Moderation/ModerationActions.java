@@ -0,0 +1,101 @@
+package com.nexus.nexus.Moderation;
+
+import com.nexus.nexus.Cache.CommentPageCache;
+import com.nexus.nexus.Cache.TtlCache;
+import com.nexus.nexus.Dto.UserItemCountsDto;
+import com.nexus.nexus.Entity.Comment;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.CommentReportRepository;
+import com.nexus.nexus.Repository.CommentRepository;
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Search.ItemGeoIndex;
+import com.nexus.nexus.Stats.ItemCounters;
+import com.nexus.nexus.Transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+/**
+ * What a moderation decision does to its target, shared by the worker and the admin endpoint.
+ * Every method is idempotent, so a case processed twice (or a target already gone) is harmless.
+ * Callers provide the transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class ModerationActions {
+
+    private final ReportRepository reportRepository;
+    private final CommentRepository commentRepository;
+    private final CommentReportRepository commentReportRepository;
+    private final ItemGeoIndex itemGeoIndex;
+    private final ItemCounters itemCounters;
+    private final TtlCache<Long, UserItemCountsDto> userItemCountsCache;
+    private final CommentPageCache commentPageCache;
+
+    /**
+     * Hides an ACTIVE item as REPORTED; items in any other status, or already deleted, are left
+     * alone. Returns whether the item was hidden.
+     */
+    public boolean hideItem(Long itemId) {
+        if (reportRepository.updateStatus(itemId, Status.ACTIVE, Status.REPORTED, OffsetDateTime.now()) != 1) {
+            return false;
+        }
+        itemHidden(itemId);
+        return true;
+    }
+
+    /** Takes an item that has just gone from ACTIVE to REPORTED out of the index, counters and caches. */
+    public void itemHidden(Long itemId) {
+        itemGeoIndex.remove(itemId);
+        itemCounters.onStatusChanged(Status.ACTIVE, Status.REPORTED);
+        invalidateOwnerCounts(itemId);
+    }
+
+    /** Puts an item hidden by {@link #hideItem} back in listings. */
+    public void restoreItem(Long itemId) {
+        if (reportRepository.updateStatus(itemId, Status.REPORTED, Status.ACTIVE, OffsetDateTime.now()) == 1) {
+            reportRepository.findById(itemId).ifPresent(itemGeoIndex::sync);
+            itemCounters.onStatusChanged(Status.REPORTED, Status.ACTIVE);
+            invalidateOwnerCounts(itemId);
+        }
+    }
+
+    public void removeItem(Long itemId) {
+        reportRepository.findWithDetailsById(itemId).ifPresent(item -> {
+            reportRepository.delete(item);
+            itemGeoIndex.remove(itemId);
+            itemCounters.onDeleted(item);
+            commentPageCache.invalidate(itemId);
+            invalidateCounts(item.getReporter() != null ? item.getReporter().getId() : null);
+        });
+    }
+
+    /**
+     * Removes the comment together with every reply below it, at any depth. Returns whether there
+     * was a comment to remove.
+     */
+    public boolean removeComment(Long commentId) {
+        Optional<Comment> found = commentRepository.findById(commentId);
+        found.ifPresent(comment -> {
+            // Reports first to avoid FK violations; the replies go with the comment (ON DELETE CASCADE)
+            commentReportRepository.deleteForDescendants(comment.childPath());
+            commentReportRepository.deleteByCommentId(commentId);
+            commentRepository.delete(comment);
+            if (comment.getParent() != null) {
+                commentRepository.decrementReplyCount(comment.getParent().getId());
+            }
+            commentPageCache.invalidate(comment.getItem().getId());
+        });
+        return found.isPresent();
+    }
+
+    private void invalidateCounts(Long reporterId) {
+        AfterCommit.run(() -> userItemCountsCache.invalidate(reporterId));
+    }
+
+    private void invalidateOwnerCounts(Long itemId) {
+        reportRepository.findReporterIdById(itemId).ifPresent(this::invalidateCounts);
+    }
+}
@@ -0,0 +1,175 @@
+package com.nexus.nexus.Moderation;
+
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.CommentReportRepository;
+import com.nexus.nexus.Repository.ItemReportRepository;
+import com.nexus.nexus.Repository.ModerationCaseRepository;
+import com.nexus.nexus.Repository.PendingReport;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns reports into moderation outcomes off the request path.
+ * <p>
+ * Report endpoints only insert a report row; item reports are also counted on the spot by
+ * {@link ItemReportCounter}, which flags an item the moment it reaches
+ * {@code moderation.report-threshold}. Every {@code moderation.worker.interval} this worker takes a
+ * batch of unprocessed reports, records an ACTIONED case for each item flagged that way, opens a
+ * PENDING case for each other target at the threshold (reopening a dismissed case only once the
+ * threshold is reached again by reports filed after the dismissal), and then applies the automatic
+ * outcome to a batch of PENDING cases. Items are hidden as REPORTED
+ * for an admin to review. Comments are deleted outright, together with every reply below them,
+ * without an admin review step: reaching the threshold is the decision. A case whose target was
+ * deleted or left ACTIVE meanwhile is closed as STALE. Each step runs in its own short transaction and is idempotent, so
+ * a batch that fails is simply picked up again on the next run.
+ */
+@Component
+public class ModerationWorker {
+    private static final Logger log = LoggerFactory.getLogger(ModerationWorker.class);
+
+    private final ItemReportRepository itemReportRepository;
+    private final CommentReportRepository commentReportRepository;
+    private final ReportRepository reportRepository;
+    private final ModerationCaseRepository moderationCaseRepository;
+    private final ModerationActions moderationActions;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int reportThreshold;
+
+    public ModerationWorker(ItemReportRepository itemReportRepository,
+                            CommentReportRepository commentReportRepository,
+                            ReportRepository reportRepository,
+                            ModerationCaseRepository moderationCaseRepository,
+                            ModerationActions moderationActions,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${moderation.worker.batch-size:200}") int batchSize,
+                            @Value("${moderation.report-threshold:3}") int reportThreshold) {
+        this.itemReportRepository = itemReportRepository;
+        this.commentReportRepository = commentReportRepository;
+        this.reportRepository = reportRepository;
+        this.moderationCaseRepository = moderationCaseRepository;
+        this.moderationActions = moderationActions;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.reportThreshold = reportThreshold;
+    }
+
+    @Scheduled(fixedDelayString = "${moderation.worker.interval:PT5S}",
+            initialDelayString = "${moderation.worker.interval:PT5S}")
+    public void run() {
+        runStep("item report", this::countItemReports);
+        runStep("comment report", this::countCommentReports);
+        runStep("pending case", this::processPendingCases);
+    }
+
+    /** Runs one step in its own transaction; a failure is logged and does not hold back the others. */
+    private void runStep(String name, Runnable step) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> step.run());
+        } catch (RuntimeException e) {
+            log.warn("Moderation {} batch failed, will retry: {}", name, e.getMessage());
+        }
+    }
+
+    void countItemReports() {
+        List<PendingReport> reports = itemReportRepository.findUnprocessed(PageRequest.of(0, batchSize));
+        if (reports.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        Set<Long> itemIds = targetIds(reports);
+        // Flagged by ItemReportCounter when the report was filed: the case starts out actioned.
+        for (Long itemId : reportRepository.findIdsReportedAtLeast(itemIds, Status.REPORTED, reportThreshold)) {
+            moderationCaseRepository.insertIfAbsent(ModerationTargetType.ITEM.name(), itemId,
+                    ModerationState.ACTIONED.name(), now);
+        }
+        // Still listed despite enough reports, e.g. after a dismissal; processPendingCases hides them.
+        for (Long itemId : reportRepository.findIdsReportedAtLeast(itemIds, Status.ACTIVE, reportThreshold)) {
+            openCase(ModerationTargetType.ITEM, itemId, now);
+        }
+        itemReportRepository.markProcessed(reportIds(reports), now);
+    }
+
+    void countCommentReports() {
+        List<PendingReport> reports = commentReportRepository.findUnprocessed(PageRequest.of(0, batchSize));
+        if (reports.isEmpty()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Long commentId : commentReportRepository.findCommentIdsReportedAtLeast(targetIds(reports),
+                reportThreshold)) {
+            openCase(ModerationTargetType.COMMENT, commentId, now);
+        }
+        commentReportRepository.markProcessed(reportIds(reports), now);
+    }
+
+    void processPendingCases() {
+        List<ModerationCase> cases = moderationCaseRepository.findByStateOrderByIdAsc(ModerationState.PENDING,
+                PageRequest.of(0, batchSize));
+        OffsetDateTime now = OffsetDateTime.now();
+        for (ModerationCase moderationCase : cases) {
+            // A target that was deleted or changed status since it was reported gets no outcome.
+            if (moderationCase.getTargetType() == ModerationTargetType.ITEM) {
+                moderationCase.setState(moderationActions.hideItem(moderationCase.getTargetId())
+                        ? ModerationState.ACTIONED : ModerationState.STALE);
+            } else {
+                moderationCase.setState(moderationActions.removeComment(moderationCase.getTargetId())
+                        ? ModerationState.REMOVED : ModerationState.STALE);
+            }
+            moderationCase.setUpdatedAt(now);
+        }
+        if (!cases.isEmpty()) {
+            log.info("Moderation worker actioned {} case(s)", cases.size());
+        }
+    }
+
+    /**
+     * Opens a case for the target. A case an admin dismissed is only reopened once the target has
+     * collected another {@code moderation.report-threshold} reports since the dismissal, so a single
+     * late report cannot overturn the decision.
+     */
+    private void openCase(ModerationTargetType targetType, Long targetId, OffsetDateTime now) {
+        if (moderationCaseRepository.insertIfAbsent(targetType.name(), targetId, ModerationState.PENDING.name(),
+                now) == 1) {
+            return;
+        }
+        moderationCaseRepository.findByTargetTypeAndTargetId(targetType, targetId)
+                .filter(moderationCase -> moderationCase.getState() == ModerationState.DISMISSED)
+                .filter(moderationCase -> reportsSince(targetType, targetId, moderationCase.getUpdatedAt())
+                        >= reportThreshold)
+                .ifPresent(moderationCase -> {
+                    moderationCase.setState(ModerationState.PENDING);
+                    moderationCase.setUpdatedAt(now);
+                });
+    }
+
+    private long reportsSince(ModerationTargetType targetType, Long targetId, OffsetDateTime since) {
+        return targetType == ModerationTargetType.ITEM
+                ? itemReportRepository.countByItem_IdAndCreatedAtAfter(targetId, since)
+                : commentReportRepository.countByComment_IdAndCreatedAtAfter(targetId, since);
+    }
+
+    private static Set<Long> targetIds(List<PendingReport> reports) {
+        Set<Long> ids = new LinkedHashSet<>();
+        reports.forEach(report -> ids.add(report.getTargetId()));
+        return ids;
+    }
+
+    private static List<Long> reportIds(List<PendingReport> reports) {
+        return reports.stream().map(PendingReport::getId).toList();
+    }
+}
@@ -1,15 +1,56 @@
 package com.nexus.nexus.Repository;
 
 import com.nexus.nexus.Entity.CommentReport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface CommentReportRepository extends JpaRepository<CommentReport, Long> {
 
-    long countByCommentId(Long commentId);
+    void deleteByCommentId(Long commentId);
+
+    /** Deletes the reports on every reply below the comment whose replies have path {@code childPath}. */
+    @Modifying
+    @Query("DELETE FROM CommentReport r WHERE r.comment.id IN "
+            + "(SELECT c.id FROM Comment c WHERE c.path LIKE CONCAT(:childPath, '%'))")
+    int deleteForDescendants(@Param("childPath") String childPath);
 
-    boolean existsByCommentIdAndReporterId(Long commentId, Long reporterId);
+    /**
+     * Inserts the report unless the comment does not exist on this item or this reporter
+     * already reported it. Returns the number of rows inserted, so 0 means nothing was recorded.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO auth.comment_report (comment_id, reporter_id, cause, created_at) "
+            + "SELECT c.id, :reporterId, :cause, :createdAt FROM auth.comment c "
+            + "WHERE c.id = :commentId AND c.item_id = :itemId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("itemId") Long itemId,
+                       @Param("commentId") Long commentId,
+                       @Param("reporterId") Long reporterId,
+                       @Param("cause") String cause,
+                       @Param("createdAt") OffsetDateTime createdAt);
 
-    void deleteByCommentId(Long commentId);
+    /** Reports on the comment filed after {@code after}, e.g. since its moderation case was dismissed. */
+    long countByComment_IdAndCreatedAtAfter(Long commentId, OffsetDateTime after);
+
+    @Query("SELECT r.id AS id, r.comment.id AS targetId FROM CommentReport r WHERE r.processedAt IS NULL ORDER BY r.id")
+    List<PendingReport> findUnprocessed(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE CommentReport r SET r.processedAt = :now WHERE r.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
+
+    /** Those of the given comments with at least {@code threshold} reports. */
+    @Query("SELECT r.comment.id FROM CommentReport r WHERE r.comment.id IN :commentIds "
+            + "GROUP BY r.comment.id HAVING count(r) >= :threshold")
+    List<Long> findCommentIdsReportedAtLeast(@Param("commentIds") Collection<Long> commentIds,
+                                             @Param("threshold") long threshold);
 }
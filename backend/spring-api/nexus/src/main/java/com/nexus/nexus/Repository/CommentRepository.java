@@ -4,27 +4,68 @@ import com.nexus.nexus.Entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    /** All top-level comments for an item, ordered oldest-first. */
-    List<Comment> findByItemIdAndParentIsNullOrderByCreatedAtAsc(Long itemId);
+    /** Paged top-level comments for an item, ordered oldest-first, with their authors. */
+    @Query(value = "SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = :itemId AND c.parent IS NULL "
+            + "ORDER BY c.createdAt, c.id",
+            countQuery = "SELECT count(c) FROM Comment c WHERE c.item.id = :itemId AND c.parent IS NULL")
+    Page<Comment> findRoots(@Param("itemId") Long itemId, Pageable pageable);
 
-    /** All replies for a given parent comment, ordered oldest-first. */
-    List<Comment> findByParentIdOrderByCreatedAtAsc(Long parentId);
+    /** Keyset page of top-level comments for an item from the start, oldest-first, with their authors. */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = :itemId AND c.parent IS NULL "
+            + "ORDER BY c.createdAt, c.id")
+    List<Comment> findRootsFirst(@Param("itemId") Long itemId, Pageable pageable);
 
-    /** All comments for an item (any depth), ordered oldest-first — used to build the full tree. */
-    List<Comment> findByItemIdOrderByCreatedAtAsc(Long itemId);
+    /** Keyset page of top-level comments for an item after {@code (createdAt, id)}, with their authors. */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.item.id = :itemId AND c.parent IS NULL "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    List<Comment> findRootsAfter(@Param("itemId") Long itemId,
+                                 @Param("createdAt") LocalDateTime createdAt,
+                                 @Param("id") Long id,
+                                 Pageable pageable);
 
-    /** Paged top-level comments for an item, ordered oldest-first. */
-    Page<Comment> findByItemIdAndParentIsNullOrderByCreatedAtAsc(Long itemId, Pageable pageable);
+    /** Keyset page of a comment's direct replies from the start, oldest-first, with their authors. */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.parent.id = :parentId ORDER BY c.createdAt, c.id")
+    List<Comment> findRepliesFirst(@Param("parentId") Long parentId, Pageable pageable);
 
-    /** Replies for a set of parent comments, ordered oldest-first. */
-    List<Comment> findByParentIdInOrderByCreatedAtAsc(List<Long> parentIds);
+    /** Keyset page of a comment's direct replies after {@code (createdAt, id)}, with their authors. */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.parent.id = :parentId "
+            + "AND (c.createdAt > :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) "
+            + "ORDER BY c.createdAt, c.id")
+    List<Comment> findRepliesAfter(@Param("parentId") Long parentId,
+                                   @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Pageable pageable);
 
-    void deleteByParentId(Long parentId);
+    /**
+     * The first {@code limit} direct replies of each given comment, with their authors, ordered
+     * oldest-first; ranked per parent in the database, so a long thread costs no more than a short one.
+     */
+    @Query("SELECT c FROM Comment c JOIN FETCH c.author WHERE c.id IN ("
+            + "SELECT r.id FROM ("
+            + "SELECT x.id AS id, row_number() OVER (PARTITION BY x.parent.id ORDER BY x.createdAt, x.id) AS rn "
+            + "FROM Comment x WHERE x.parent.id IN :parentIds) r "
+            + "WHERE r.rn <= :limit) "
+            + "ORDER BY c.createdAt, c.id")
+    List<Comment> findFirstReplies(@Param("parentIds") Collection<Long> parentIds, @Param("limit") long limit);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1 WHERE c.id = :id")
+    int incrementReplyCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount - 1 WHERE c.id = :id AND c.replyCount > 0")
+    int decrementReplyCount(@Param("id") Long id);
 }
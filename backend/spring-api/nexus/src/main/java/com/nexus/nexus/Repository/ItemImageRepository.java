@@ -0,0 +1,9 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Entity.ItemImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ItemImageRepository extends JpaRepository<ItemImage, String> {
+}
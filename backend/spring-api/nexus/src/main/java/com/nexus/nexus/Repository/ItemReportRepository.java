@@ -1,11 +1,40 @@
 package com.nexus.nexus.Repository;
 
 import com.nexus.nexus.Entity.ItemReport;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface ItemReportRepository extends JpaRepository<ItemReport, Long> {
-    boolean existsByItemIdAndReporterId(Long itemId, Long reporterId);
-    long countByItemId(Long itemId);
+
+    /**
+     * Inserts the report unless the item does not exist or this reporter already reported it.
+     * Returns the number of rows inserted, so 0 means nothing was recorded.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO auth.item_report (item_id, reporter_id, cause, created_at) "
+            + "SELECT i.id, :reporterId, :cause, :createdAt FROM auth.items_item i WHERE i.id = :itemId "
+            + "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("itemId") Long itemId,
+                       @Param("reporterId") Long reporterId,
+                       @Param("cause") String cause,
+                       @Param("createdAt") OffsetDateTime createdAt);
+
+    /** Reports on the item filed after {@code after}, e.g. since its moderation case was dismissed. */
+    long countByItem_IdAndCreatedAtAfter(Long itemId, OffsetDateTime after);
+
+    @Query("SELECT r.id AS id, r.item.id AS targetId FROM ItemReport r WHERE r.processedAt IS NULL ORDER BY r.id")
+    List<PendingReport> findUnprocessed(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ItemReport r SET r.processedAt = :now WHERE r.id IN :ids")
+    int markProcessed(@Param("ids") Collection<Long> ids, @Param("now") OffsetDateTime now);
 }
@@ -0,0 +1,34 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Enumaration.TypeOfReport;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Flat read model of an item for list pages: exactly the columns {@code ProductListItemDto}
+ * needs, with reporter and category already joined in. Built by
+ * {@link ItemRowRepository} through a constructor projection.
+ */
+public record ItemRow(
+        Long id,
+        TypeOfReport type,
+        String name,
+        String description,
+        Status status,
+        BigDecimal latitude,
+        BigDecimal longitude,
+        String imageHash,
+        String imageSmallHash,
+        OffsetDateTime createdAt,
+        OffsetDateTime updatedAt,
+        Long categoryId,
+        String categoryName,
+        Long reporterId,
+        String reporterEmail,
+        String reporterName,
+        OffsetDateTime reporterRegistrationDate,
+        Boolean reporterIsVerified
+) {
+}
@@ -0,0 +1,22 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Entity.Item;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Projection queries that read {@link ItemRow}s in a single statement, joining reporter and
+ * category instead of loading entities and resolving their lazy associations row by row.
+ */
+public interface ItemRowRepository {
+
+    /** Offset page of rows; the count query is skipped when the page itself reveals the total. */
+    Page<ItemRow> findRows(Specification<Item> spec, Pageable pageable);
+
+    /** First {@code limit} rows in {@code sort} order, without a count; used for keyset pages. */
+    List<ItemRow> findRows(Specification<Item> spec, Sort sort, int limit);
+}
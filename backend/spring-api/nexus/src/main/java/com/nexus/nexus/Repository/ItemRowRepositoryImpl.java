@@ -0,0 +1,90 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Entity.Category;
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+class ItemRowRepositoryImpl implements ItemRowRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ItemRow> findRows(Specification<Item> spec, Pageable pageable) {
+        TypedQuery<ItemRow> query = rowQuery(spec, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(spec));
+    }
+
+    @Override
+    public List<ItemRow> findRows(Specification<Item> spec, Sort sort, int limit) {
+        return rowQuery(spec, sort).setMaxResults(limit).getResultList();
+    }
+
+    private TypedQuery<ItemRow> rowQuery(Specification<Item> spec, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ItemRow> query = cb.createQuery(ItemRow.class);
+        Root<Item> item = query.from(Item.class);
+        Join<Item, User> reporter = item.join("reporter");
+        Join<Item, Category> category = item.join("category");
+
+        query.select(cb.construct(ItemRow.class,
+                item.get("id"),
+                item.get("type"),
+                item.get("name"),
+                item.get("description"),
+                item.get("status"),
+                item.get("latitude"),
+                item.get("longitude"),
+                item.get("imageHash"),
+                item.get("imageSmallHash"),
+                item.get("createdAt"),
+                item.get("updatedAt"),
+                category.get("id"),
+                category.get("name"),
+                reporter.get("id"),
+                reporter.get("email"),
+                reporter.get("fullName"),
+                reporter.get("registrationDate"),
+                reporter.get("isVerified")));
+        Predicate predicate = spec != null ? spec.toPredicate(item, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (sort.isSorted()) {
+            query.orderBy(QueryUtils.toOrders(sort, item, cb));
+        }
+        return entityManager.createQuery(query);
+    }
+
+    private long count(Specification<Item> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Item> item = query.from(Item.class);
+        query.select(cb.count(item));
+        Predicate predicate = spec != null ? spec.toPredicate(item, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,70 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Enumaration.TypeOfReport;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Building blocks for item searches. Callers combine only the predicates that are actually
+ * present, so Postgres gets a plan that can use the matching composite index instead of one
+ * generic plan full of {@code COALESCE(:p, column)} catch-alls.
+ */
+public final class ItemSpecifications {
+
+    private ItemSpecifications() {
+    }
+
+    public static Specification<Item> hasStatus(Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Item> hasType(TypeOfReport type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Item> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    /** Items inside the latitude/longitude box, bounds included. */
+    public static Specification<Item> withinBox(BigDecimal minLat, BigDecimal maxLat,
+                                                BigDecimal minLon, BigDecimal maxLon) {
+        return (root, query, cb) -> cb.and(
+                cb.between(root.get("latitude"), minLat, maxLat),
+                cb.between(root.get("longitude"), minLon, maxLon)
+        );
+    }
+
+    /** {@code pattern} is a ready-made lower-case LIKE pattern such as {@code %phone%}. */
+    public static Specification<Item> nameLike(String pattern) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("name")), pattern);
+    }
+
+    public static Specification<Item> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Item> createdAtFrom(OffsetDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<Item> createdAtTo(OffsetDateTime to) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), to);
+    }
+
+    /** Rows strictly after {@code (createdAt, id)} in {@code (createdAt DESC, id DESC)} order. */
+    public static Specification<Item> before(OffsetDateTime createdAt, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.get("id"), id)
+                )
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package com.nexus.nexus.Repository;
+
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ModerationCaseRepository extends JpaRepository<ModerationCase, Long> {
+
+    /** Opens a case in {@code state} for the target unless it already has one; returns rows inserted. */
+    @Modifying
+    @Query(value = "INSERT INTO auth.moderation_case (target_type, target_id, state, created_at, updated_at) "
+            + "VALUES (:targetType, :targetId, :state, :now, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("targetType") String targetType,
+                       @Param("targetId") Long targetId,
+                       @Param("state") String state,
+                       @Param("now") OffsetDateTime now);
+
+    Optional<ModerationCase> findByTargetTypeAndTargetId(ModerationTargetType targetType, Long targetId);
+
+    /** Oldest cases in the given state first, so the worker and admins see them in arrival order. */
+    List<ModerationCase> findByStateOrderByIdAsc(ModerationState state, Pageable pageable);
+
+    Page<ModerationCase> findByState(ModerationState state, Pageable pageable);
+}
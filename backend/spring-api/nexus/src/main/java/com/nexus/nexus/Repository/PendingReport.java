@@ -0,0 +1,8 @@
+package com.nexus.nexus.Repository;
+
+/** A report the moderation worker has not counted yet, and the item or comment it is about. */
+public interface PendingReport {
+    Long getId();
+
+    Long getTargetId();
+}
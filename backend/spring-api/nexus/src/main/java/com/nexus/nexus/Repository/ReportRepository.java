@@ -3,10 +3,17 @@ package com.nexus.nexus.Repository;
 import com.nexus.nexus.Enumaration.TypeOfReport;
 import com.nexus.nexus.Enumaration.Status;
 import com.nexus.nexus.Entity.Item;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.math.BigDecimal;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,72 +21,141 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 @Repository
-public interface ReportRepository extends JpaRepository<Item, Long> {
+public interface ReportRepository
+        extends JpaRepository<Item, Long>, JpaSpecificationExecutor<Item>, ItemRowRepository {
 
     List<Item> findAllByCategory_Id(Long categoryId);
 
+    @EntityGraph(Item.WITH_REPORTER_AND_CATEGORY)
     List<Item> findAllByStatus(Status status);
 
+    @EntityGraph(Item.WITH_REPORTER_AND_CATEGORY)
     List<Item> findAllByCategory_IdAndStatus(Long categoryId, Status status);
 
+    /** {@link #findById} with reporter and category fetched in the same statement. */
+    @EntityGraph(Item.WITH_REPORTER_AND_CATEGORY)
+    Optional<Item> findWithDetailsById(Long id);
+
+    @EntityGraph(Item.WITH_REPORTER_AND_CATEGORY)
+    List<Item> findWithDetailsByIdIn(Collection<Long> ids);
+
+    /** Search pages are mapped to full DTOs, so the associations are fetched with the page. */
+    @Override
+    @EntityGraph(Item.WITH_REPORTER_AND_CATEGORY)
+    Page<Item> findAll(Specification<Item> spec, Pageable pageable);
+
     Page<Item> findAllByStatus(Status status, Pageable pageable);
 
-    @Query("""
-            SELECT i FROM Item i
-            WHERE i.latitude BETWEEN COALESCE(:minLat, i.latitude) AND COALESCE(:maxLat, i.latitude)
-              AND i.longitude BETWEEN COALESCE(:minLon, i.longitude) AND COALESCE(:maxLon, i.longitude)
-              AND (COALESCE(:name, '') = '' OR LOWER(i.name) LIKE :name)
-              AND i.type = COALESCE(:type, i.type)
-              AND i.status = :status
-              AND (:categoryIds IS NULL OR i.category.id IN :categoryIds)
-              AND i.createdAt >= COALESCE(:from, i.createdAt)
-              AND i.createdAt <= COALESCE(:to, i.createdAt)
-              ORDER BY i.createdAt DESC
-            """)
-    List<Item> searchByLocationAndFilters(
-            @Param("minLat") BigDecimal minLat,
-            @Param("maxLat") BigDecimal maxLat,
-            @Param("minLon") BigDecimal minLon,
-            @Param("maxLon") BigDecimal maxLon,
-            @Param("name") String name,
-            @Param("type") TypeOfReport type,
-            @Param("status") Status status,
-            @Param("categoryIds") List<Long> categoryIds,
-            @Param("from") OffsetDateTime from,
-            @Param("to") OffsetDateTime to
-    );
+    /** Id and coordinates only, used to (re)build the in-memory geo index. */
+    @Query("SELECT i.id AS id, i.latitude AS latitude, i.longitude AS longitude FROM Item i WHERE i.status = :status")
+    List<ItemLocation> findLocationsByStatus(@Param("status") Status status);
 
     Page<Item> findAll(Pageable pageable);
 
-    @Query("""
-            SELECT i FROM Item i
-            WHERE i.latitude BETWEEN COALESCE(:minLat, i.latitude) AND COALESCE(:maxLat, i.latitude)
-              AND i.longitude BETWEEN COALESCE(:minLon, i.longitude) AND COALESCE(:maxLon, i.longitude)
-              AND (COALESCE(:name, '') = '' OR LOWER(i.name) LIKE :name)
-              AND i.type = COALESCE(:type, i.type)
-              AND i.status = :status
-              AND (:categoryIds IS NULL OR i.category.id IN :categoryIds)
-              AND i.createdAt >= COALESCE(:from, i.createdAt)
-              AND i.createdAt <= COALESCE(:to, i.createdAt)
-              ORDER BY i.createdAt DESC
-            """)
-    Page<Item> searchByLocationAndFilters(
-            @Param("minLat") BigDecimal minLat,
-            @Param("maxLat") BigDecimal maxLat,
-            @Param("minLon") BigDecimal minLon,
-            @Param("maxLon") BigDecimal maxLon,
-            @Param("name") String name,
-            @Param("type") TypeOfReport type,
-            @Param("status") Status status,
-            @Param("categoryIds") List<Long> categoryIds,
-            @Param("from") OffsetDateTime from,
-            @Param("to") OffsetDateTime to,
-            Pageable pageable
-    );
+    /**
+     * Ids of active items matching a web-style search query, best match first.
+     * Backed by the GIN index on the generated {@code search_vector} column.
+     */
+    @Query(value = """
+            SELECT i.id FROM auth.items_item i
+            WHERE i.status = 'active'
+              AND i.search_vector @@ websearch_to_tsquery('simple', :query)
+            ORDER BY ts_rank_cd(i.search_vector, websearch_to_tsquery('simple', :query)) DESC,
+                     i.created_at DESC, i.id DESC
+            """,
+            countQuery = """
+            SELECT count(*) FROM auth.items_item i
+            WHERE i.status = 'active'
+              AND i.search_vector @@ websearch_to_tsquery('simple', :query)
+            """,
+            nativeQuery = true)
+    Page<Long> searchIdsByText(@Param("query") String query, Pageable pageable);
 
     long countByCreatedAtBetween(OffsetDateTime start, OffsetDateTime end);
 
     long countByStatus(Status status);
 
-    long countByReporter_IdAndType(Long reporterId, TypeOfReport type);
+    /** Item totals per reporter, type and status for the given reporters, in one grouped query. */
+    @Query("SELECT i.reporter.id AS reporterId, i.type AS type, i.status AS status, count(i) AS total "
+            + "FROM Item i WHERE i.reporter.id IN :reporterIds "
+            + "GROUP BY i.reporter.id, i.type, i.status")
+    List<ReporterItemCount> countByReporters(@Param("reporterIds") Collection<Long> reporterIds);
+
+    /** Records generated variants, unless the item's image was replaced while they were being built. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE Item i SET i.imageSmallHash = :smallHash, i.imageMediumHash = :mediumHash "
+            + "WHERE i.id = :id AND i.imageHash = :imageHash")
+    int updateImageVariants(@Param("id") Long id,
+                            @Param("imageHash") String imageHash,
+                            @Param("smallHash") String smallHash,
+                            @Param("mediumHash") String mediumHash);
+
+    /**
+     * Counts one more report against the item, unless that report takes an ACTIVE item exactly to
+     * the flagging threshold; {@link #incrementReportedCountsAndFlag} handles that case. Together
+     * the two never both match the same row version, so a caller that sees 0 from both lost a race
+     * and retries.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.reportedCounts = i.reportedCounts + 1, i.updatedAt = :now "
+            + "WHERE i.id = :id AND (i.status IS NULL OR i.status <> :active OR i.reportedCounts + 1 <> :threshold)")
+    int incrementReportedCounts(@Param("id") Long id,
+                                @Param("active") Status active,
+                                @Param("threshold") int threshold,
+                                @Param("now") OffsetDateTime now);
+
+    /**
+     * Counts one more report against an ACTIVE item and flags it, if this report is the one that
+     * reaches the threshold. Only that single report flips the status, so an item an admin put
+     * back after review is not flagged again by the next report.
+     */
+    @Modifying
+    @Query("UPDATE Item i SET i.reportedCounts = i.reportedCounts + 1, i.status = :reported, i.updatedAt = :now "
+            + "WHERE i.id = :id AND i.status = :active AND i.reportedCounts + 1 = :threshold")
+    int incrementReportedCountsAndFlag(@Param("id") Long id,
+                                       @Param("active") Status active,
+                                       @Param("reported") Status reported,
+                                       @Param("threshold") int threshold,
+                                       @Param("now") OffsetDateTime now);
+
+    /** Those of the given items that are in {@code status} with at least {@code threshold} reports. */
+    @Query("SELECT i.id FROM Item i WHERE i.id IN :ids AND i.status = :status AND i.reportedCounts >= :threshold")
+    List<Long> findIdsReportedAtLeast(@Param("ids") Collection<Long> ids,
+                                      @Param("status") Status status,
+                                      @Param("threshold") int threshold);
+
+    /** Moves the item from {@code from} to {@code to}; returns 0 if it was not in {@code from}. */
+    @Modifying
+    @Query("UPDATE Item i SET i.status = :to, i.updatedAt = :now WHERE i.id = :id AND i.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") Status from,
+                     @Param("to") Status to,
+                     @Param("now") OffsetDateTime now);
+
+    @Query("SELECT i.reporter.id FROM Item i WHERE i.id = :id")
+    Optional<Long> findReporterIdById(@Param("id") Long id);
+
+    /** Whether any item points at this blob, as its original or as one of its variants. */
+    @Query("SELECT COUNT(i) > 0 FROM Item i "
+            + "WHERE i.imageHash = :hash OR i.imageSmallHash = :hash OR i.imageMediumHash = :hash")
+    boolean isImageReferenced(@Param("hash") String hash);
+
+    interface ReporterItemCount {
+        Long getReporterId();
+
+        TypeOfReport getType();
+
+        Status getStatus();
+
+        long getTotal();
+    }
+
+    interface ItemLocation {
+        Long getId();
+
+        BigDecimal getLatitude();
+
+        BigDecimal getLongitude();
+    }
 }
@@ -0,0 +1,237 @@
+package com.nexus.nexus.Search;
+
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory uniform grid over the locations of ACTIVE items.
+ * <p>
+ * Each item is bucketed into a square cell of {@code items.geo-index.cell-size-degrees}.
+ * A radius query only visits the cells overlapping the circle's bounding box and then
+ * applies an exact haversine check, so the database never has to scan {@code items_item}
+ * for map searches. Writes are serialized and applied after commit; reads are lock-free.
+ */
+@Component
+public class ItemGeoIndex {
+    private static final Logger log = LoggerFactory.getLogger(ItemGeoIndex.class);
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private final ReportRepository reportRepository;
+    private final double cellSizeDegrees;
+
+    private volatile Grid grid = new Grid();
+    private volatile boolean ready;
+
+    public ItemGeoIndex(
+            ReportRepository reportRepository,
+            @Value("${items.geo-index.cell-size-degrees:0.01}") double cellSizeDegrees
+    ) {
+        if (cellSizeDegrees <= 0) {
+            throw new IllegalArgumentException("items.geo-index.cell-size-degrees must be positive");
+        }
+        this.reportRepository = reportRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (DataAccessException e) {
+            log.warn("Geo index could not be built at startup, will retry on first query: {}", e.getMessage());
+        }
+    }
+
+    /** Reloads every ACTIVE item location from the database and swaps the grid atomically. */
+    public synchronized void rebuild() {
+        Grid fresh = new Grid();
+        for (ReportRepository.ItemLocation location : reportRepository.findLocationsByStatus(Status.ACTIVE)) {
+            fresh.put(location.getId(), toDouble(location.getLatitude()), toDouble(location.getLongitude()),
+                    cellSizeDegrees);
+        }
+        grid = fresh;
+        ready = true;
+        log.info("Geo index built with {} active items", fresh.points.size());
+    }
+
+    /**
+     * Indexes the item if it is ACTIVE and has a location, otherwise drops it from the index.
+     * Takes effect once the current transaction commits, with the item's state as of this call.
+     */
+    public void sync(Item item) {
+        if (item == null || item.getId() == null) {
+            return;
+        }
+        Long id = item.getId();
+        if (item.getStatus() == Status.ACTIVE && item.getLatitude() != null && item.getLongitude() != null) {
+            double latitude = toDouble(item.getLatitude());
+            double longitude = toDouble(item.getLongitude());
+            AfterCommit.run(() -> put(id, latitude, longitude));
+        } else {
+            AfterCommit.run(() -> drop(id));
+        }
+    }
+
+    /** Drops the item from the index once the current transaction commits. */
+    public void remove(Long itemId) {
+        if (itemId != null) {
+            AfterCommit.run(() -> drop(itemId));
+        }
+    }
+
+    private synchronized void put(Long itemId, double latitude, double longitude) {
+        grid.put(itemId, latitude, longitude, cellSizeDegrees);
+    }
+
+    private synchronized void drop(Long itemId) {
+        grid.remove(itemId);
+    }
+
+    /** Ids of ACTIVE items whose great-circle distance to the center is at most {@code radiusKm}. */
+    public List<Long> findWithinRadius(double centerLat, double centerLon, double radiusKm) {
+        if (!ready) {
+            rebuild();
+        }
+        Grid current = grid;
+
+        double latDelta = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(centerLat)), 1e-6);
+        double lonDelta = Math.min(radiusKm / (KM_PER_DEGREE_LAT * cosLat), 180.0);
+
+        long minLatCell = cellIndex(Math.max(centerLat - latDelta, -90.0));
+        long maxLatCell = cellIndex(Math.min(centerLat + latDelta, 90.0));
+        List<long[]> lonCellRanges = lonCellRanges(centerLon - lonDelta, centerLon + lonDelta);
+
+        List<Long> result = new ArrayList<>();
+        long lonCells = 0;
+        for (long[] range : lonCellRanges) {
+            lonCells += range[1] - range[0] + 1;
+        }
+        long cellsToVisit = (maxLatCell - minLatCell + 1) * lonCells;
+        if (cellsToVisit > current.points.size()) {
+            // Huge radius relative to the data set: a flat scan is cheaper than probing empty cells.
+            for (Map.Entry<Long, Point> entry : current.points.entrySet()) {
+                if (withinRadius(entry.getValue(), centerLat, centerLon, radiusKm)) {
+                    result.add(entry.getKey());
+                }
+            }
+            return result;
+        }
+
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long[] range : lonCellRanges) {
+                for (long lonCell = range[0]; lonCell <= range[1]; lonCell++) {
+                    Set<Long> ids = current.cells.get(cellKey(latCell, lonCell));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        Point point = current.points.get(id);
+                        if (point != null && withinRadius(point, centerLat, centerLon, radiusKm)) {
+                            result.add(id);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Longitude cells covering {@code [minLon, maxLon]}. A range that crosses the antimeridian is
+     * split in two, one ending at +180 and one starting at -180, since items are only ever
+     * indexed within [-180, 180].
+     */
+    private List<long[]> lonCellRanges(double minLon, double maxLon) {
+        if (maxLon - minLon >= 360.0) {
+            return List.of(new long[]{cellIndex(-180.0), cellIndex(180.0)});
+        }
+        if (minLon < -180.0) {
+            return List.of(new long[]{cellIndex(minLon + 360.0), cellIndex(180.0)},
+                    new long[]{cellIndex(-180.0), cellIndex(maxLon)});
+        }
+        if (maxLon > 180.0) {
+            return List.of(new long[]{cellIndex(minLon), cellIndex(180.0)},
+                    new long[]{cellIndex(-180.0), cellIndex(maxLon - 360.0)});
+        }
+        return List.<long[]>of(new long[]{cellIndex(minLon), cellIndex(maxLon)});
+    }
+
+    public int size() {
+        return grid.points.size();
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static boolean withinRadius(Point point, double centerLat, double centerLon, double radiusKm) {
+        return haversineKm(centerLat, centerLon, point.lat(), point.lon()) <= radiusKm;
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellSizeDegrees);
+    }
+
+    private static long cellKey(long latCell, long lonCell) {
+        return (latCell << 32) ^ (lonCell & 0xffffffffL);
+    }
+
+    private static double toDouble(BigDecimal value) {
+        return value.doubleValue();
+    }
+
+    private record Point(double lat, double lon, long cell) {
+    }
+
+    private static final class Grid {
+        private final Map<Long, Point> points = new ConcurrentHashMap<>();
+        private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+        void put(Long id, double lat, double lon, double cellSize) {
+            long cell = cellKey((long) Math.floor(lat / cellSize), (long) Math.floor(lon / cellSize));
+            Point previous = points.put(id, new Point(lat, lon, cell));
+            if (previous != null && previous.cell() != cell) {
+                removeFromCell(previous.cell(), id);
+            }
+            cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+
+        void remove(Long id) {
+            Point previous = points.remove(id);
+            if (previous != null) {
+                removeFromCell(previous.cell(), id);
+            }
+        }
+
+        private void removeFromCell(long cell, Long id) {
+            cells.computeIfPresent(cell, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+}
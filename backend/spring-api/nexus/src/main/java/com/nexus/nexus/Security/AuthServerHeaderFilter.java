@@ -32,7 +32,7 @@ public class AuthServerHeaderFilter extends OncePerRequestFilter {
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         String path = request.getServletPath();
-        return path == null || !path.startsWith("/api/users");
+        return path == null || !(path.startsWith("/api/users") || path.startsWith("/api/admin"));
     }
 
     @Override
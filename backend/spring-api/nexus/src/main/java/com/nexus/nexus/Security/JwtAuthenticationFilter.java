@@ -9,21 +9,35 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Objects;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    /** Request attribute holding the authenticated caller's user id, once the token has been verified. */
+    public static final String USER_ID_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".userId";
+
     private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationList tokenRevocationList;
+
+    private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+        this.securityContextHolderStrategy = securityContextHolderStrategy;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -33,59 +47,79 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (request.getMethod().equalsIgnoreCase("OPTIONS")) {
             filterChain.doFilter(request, response);
             return;
-        }                                
+        }
 
         final String authorizationHeader = request.getHeader("Authorization");
-
-        String email = null;
-        String name = null;
-        Boolean isVerified = null;
-        Long userId = null;
-        String jti = null;
-        String jwt = null;
         String path = request.getRequestURI();
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                Claims claims = jwtUtil.parseClaims(jwt);
-                String tokenType = jwtUtil.extractTokenType(claims);
-
-                if (!Objects.equals("access", tokenType)) {
-                    log.warn("JWT rejected on path {}: token_type is not access", path);
-                } else {
-                    email = jwtUtil.extractEmail(claims);
-                    name = jwtUtil.extractName(claims);
-                    isVerified = jwtUtil.extractIsVerified(claims);
-                    userId = jwtUtil.extractUserId(claims);
-                    jti = jwtUtil.extractJti(claims);
-                }
-
-                log.debug("JWT extracted on path {}: email={}, userId={}, isVerified={}", path, email, userId, isVerified);
-            } catch (Exception e) {
-                log.warn("JWT parsing failed on path {}: {}", path, e.getMessage());
-            }
-        } else {
-            log.debug("No Bearer token provided on path {}", path);
+            String jwt = authorizationHeader.substring(7);
+            // Nothing is verified until something reads the security context: an authorization rule
+            // other than permitAll, or a handler asking for the principal.
+            Supplier<SecurityContext> previous = securityContextHolderStrategy.getDeferredContext();
+            securityContextHolderStrategy.setDeferredContext(
+                    SingletonSupplier.of(() -> authenticate(previous.get(), jwt, request, path)));
         }
 
-        boolean claimsAreUsable = email != null && !email.isBlank() && Boolean.TRUE.equals(isVerified);
-        if (claimsAreUsable && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(jwt)) {
-                JwtPrincipal principal = new JwtPrincipal(userId, email, name, true, jti);
-                UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
-
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-                log.info("JWT authentication success on path {} (email={}, userId={})", path, email, userId);
-            } else {
-                log.warn("JWT rejected during validation on path {} (email={}, userId={})", path, email, userId);
-            }
-        } else if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+        filterChain.doFilter(request, response);
+    }
+
+    private SecurityContext authenticate(SecurityContext current, String jwt, HttpServletRequest request,
+                                         String path) {
+        if (current.getAuthentication() != null) {
+            return current;
+        }
+        JwtPrincipal principal = verifiedTokenCache.get(jwt);
+        if (principal == null) {
+            principal = verify(jwt, path);
+        }
+        if (principal == null) {
+            return current;
+        }
+        // Checked on every request, cache hit or not: a token can be revoked after it was verified.
+        if (tokenRevocationList.isRevoked(principal.tokenId())) {
+            log.warn("JWT rejected on path {}: token {} has been revoked", path, principal.tokenId());
+            return current;
+        }
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, new ArrayList<>());
+        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+        context.setAuthentication(authToken);
+        request.setAttribute(USER_ID_ATTRIBUTE, principal.userId());
+        return context;
+    }
+
+    /** Verifies the signature once and caches the resulting principal until the token expires. */
+    private JwtPrincipal verify(String jwt, String path) {
+        // Read before the keys are used, so a principal verified against a ring that is replaced
+        // meanwhile is not cached under the new one.
+        long generation = verifiedTokenCache.generation();
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(jwt);
+        } catch (Exception e) {
+            log.warn("JWT parsing failed on path {}: {}", path, e.getMessage());
+            return null;
+        }
+
+        if (!jwtUtil.isValidAccessToken(claims)) {
+            log.warn("JWT rejected on path {}: token_type is not access or token is expired", path);
+            return null;
+        }
+
+        String email = jwtUtil.extractEmail(claims);
+        Boolean isVerified = jwtUtil.extractIsVerified(claims);
+        Long userId = jwtUtil.extractUserId(claims);
+        if (email == null || email.isBlank() || !Boolean.TRUE.equals(isVerified)) {
             log.warn("JWT rejected on path {} due to missing required claims (email/is_verified)", path);
+            return null;
         }
 
-        filterChain.doFilter(request, response);
+        JwtPrincipal principal = new JwtPrincipal(userId, email, jwtUtil.extractName(claims), true,
+                jwtUtil.extractJti(claims));
+        verifiedTokenCache.put(jwt, principal, jwtUtil.extractExpiration(claims), generation);
+        return principal;
     }
 }
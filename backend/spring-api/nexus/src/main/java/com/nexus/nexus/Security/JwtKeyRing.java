@@ -0,0 +1,227 @@
+package com.nexus.nexus.Security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwk;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The public keys JWT signatures are checked against, selected by the token's {@code kid} header.
+ * <p>
+ * Keys come from {@code jwt.verifying-key} / {@code jwt.verifying-key-path} (a single PEM, used for
+ * tokens without a {@code kid}) and from every {@code *.pem} (kid = file name) and
+ * {@code *.json}/{@code *.jwks} (JWK Set, kid from each key) file in {@code jwt.verifying-key-dir}.
+ * The directory is watched; on any change the whole ring is rebuilt off the request path and
+ * swapped in atomically, so a signing key can be rotated without a restart. A ring that fails to
+ * load never replaces the current one.
+ */
+@Component
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final String verifyingKeyPem;
+    private final String verifyingKeyPath;
+    private final String verifyingKeyDir;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    private final AtomicReference<Keys> keys = new AtomicReference<>();
+    private volatile WatchService watchService;
+
+    public JwtKeyRing(@Value("${jwt.verifying-key:}") String verifyingKeyPem,
+                      @Value("${jwt.verifying-key-path:}") String verifyingKeyPath,
+                      @Value("${jwt.verifying-key-dir:}") String verifyingKeyDir,
+                      VerifiedTokenCache verifiedTokenCache) {
+        this.verifyingKeyPem = verifyingKeyPem;
+        this.verifyingKeyPath = verifyingKeyPath;
+        this.verifyingKeyDir = verifyingKeyDir;
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    @PostConstruct
+    void startWatching() {
+        if (verifyingKeyDir.isBlank()) {
+            return;
+        }
+        Path dir = Path.of(verifyingKeyDir);
+        try {
+            WatchService watcher = FileSystems.getDefault().newWatchService();
+            dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            watchService = watcher;
+        } catch (IOException e) {
+            log.warn("Cannot watch JWT key directory {}, keys will not hot-reload: {}", dir, e.getMessage());
+            return;
+        }
+        Thread thread = new Thread(this::watch, "jwt-key-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    void stopWatching() throws IOException {
+        WatchService watcher = watchService;
+        if (watcher != null) {
+            watcher.close();
+        }
+    }
+
+    @Override
+    protected Key locate(JwsHeader header) {
+        Keys current = current();
+        String kid = header.getKeyId();
+        PublicKey key = kid != null ? current.byKid().get(kid) : null;
+        if (key == null && (kid == null || current.byKid().isEmpty())) {
+            key = current.defaultKey();
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("No verifying key for kid " + kid);
+        }
+        return key;
+    }
+
+    /** Rebuilds the ring from configuration and swaps it in; previously verified tokens are re-checked. */
+    public synchronized void reload() {
+        Keys fresh = load();
+        keys.set(fresh);
+        verifiedTokenCache.clear();
+        log.info("JWT key ring loaded: {} keyed, default key {}", fresh.byKid().keySet(),
+                fresh.defaultKey() != null ? "present" : "absent");
+    }
+
+    private Keys current() {
+        Keys current = keys.get();
+        if (current == null) {
+            synchronized (this) {
+                current = keys.get();
+                if (current == null) {
+                    current = load();
+                    keys.set(current);
+                }
+            }
+        }
+        return current;
+    }
+
+    private void watch() {
+        WatchService watcher = watchService;
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                // Let the writer finish (and coalesce a burst of events) before reading the files.
+                Thread.sleep(200);
+                key.pollEvents();
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    log.warn("JWT key directory changed but could not be loaded, keeping current keys: {}",
+                            e.getMessage());
+                }
+                if (!key.reset()) {
+                    log.warn("JWT key directory {} is no longer accessible, hot reload stopped", verifyingKeyDir);
+                    return;
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            // shutting down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Keys load() {
+        try {
+            PublicKey defaultKey = null;
+            if (!verifyingKeyPem.isBlank() || !verifyingKeyPath.isBlank()) {
+                String pem = !verifyingKeyPem.isBlank() ? verifyingKeyPem : loadPemFromPath();
+                defaultKey = parsePem(pem);
+            }
+
+            Map<String, PublicKey> byKid = new HashMap<>();
+            if (!verifyingKeyDir.isBlank()) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(Path.of(verifyingKeyDir))) {
+                    for (Path file : files) {
+                        readKeyFile(file, byKid);
+                    }
+                }
+                if (defaultKey == null && byKid.size() == 1) {
+                    defaultKey = byKid.values().iterator().next();
+                }
+            }
+
+            if (defaultKey == null && byKid.isEmpty()) {
+                throw new IllegalStateException("Set jwt.verifying-key, jwt.verifying-key-path or jwt.verifying-key-dir");
+            }
+            return new Keys(Map.copyOf(byKid), defaultKey);
+        } catch (IllegalStateException e) {
+            log.error("Failed to load JWT verifying keys: {}", e.getMessage());
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to load JWT verifying keys: {}", e.getMessage());
+            throw new IllegalStateException("Invalid jwt verifying key configuration", e);
+        }
+    }
+
+    private static void readKeyFile(Path file, Map<String, PublicKey> byKid) throws Exception {
+        String name = file.getFileName().toString();
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        if (name.endsWith(".pem")) {
+            byKid.put(name.substring(0, name.length() - ".pem".length()), parsePem(Files.readString(file)));
+        } else if (name.endsWith(".json") || name.endsWith(".jwks")) {
+            JwkSet set = Jwks.setParser().build().parse(Files.readString(file));
+            for (Jwk<?> jwk : set) {
+                if (jwk.getId() != null && jwk.toKey() instanceof PublicKey publicKey) {
+                    byKid.put(jwk.getId(), publicKey);
+                }
+            }
+        }
+    }
+
+    private String loadPemFromPath() throws IOException {
+        if (verifyingKeyPath.startsWith("classpath:")) {
+            String classpathLocation = verifyingKeyPath.substring("classpath:".length());
+            return new String(new ClassPathResource(classpathLocation).getInputStream().readAllBytes());
+        }
+        return Files.readString(Path.of(verifyingKeyPath));
+    }
+
+    private static PublicKey parsePem(String pem) throws Exception {
+        String cleaned = pem.replace("\\n", "\n")
+                .replace("-----BEGIN PUBLIC KEY-----", "")
+                .replace("-----END PUBLIC KEY-----", "")
+                .replaceAll("\\s+", "");
+        byte[] decoded = Base64.getDecoder().decode(cleaned);
+        return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(decoded));
+    }
+
+    private record Keys(Map<String, PublicKey> byKid, PublicKey defaultKey) {
+    }
+}
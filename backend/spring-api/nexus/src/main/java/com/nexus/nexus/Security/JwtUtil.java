@@ -3,19 +3,12 @@ package com.nexus.nexus.Security;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.JwtException;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ClassPathResource;
+import io.jsonwebtoken.JwtParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.security.KeyFactory;
-import java.security.PublicKey;
-import java.security.spec.X509EncodedKeySpec;
-import java.util.Base64;
 import java.util.Date;
 import java.util.Objects;
 
@@ -23,50 +16,13 @@ import java.util.Objects;
 public class JwtUtil {
     private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
 
-    @Value("${jwt.verifying-key:}")
-    private String verifyingKeyPem;
+    private final JwtParser parser;
 
-    @Value("${jwt.verifying-key-path:}")
-    private String verifyingKeyPath;
-
-    private volatile PublicKey cachedVerifyingKey;
-
-    private PublicKey getVerifyingKey() {
-        if (cachedVerifyingKey != null) {
-            return cachedVerifyingKey;
-        }
-
-        try {
-            String pem = !verifyingKeyPem.isBlank() ? verifyingKeyPem : loadPemFromPath();
-            pem = pem.replace("\\n", "\n");
-            String cleaned = pem
-                    .replace("-----BEGIN PUBLIC KEY-----", "")
-                    .replace("-----END PUBLIC KEY-----", "")
-                    .replaceAll("\\s+", "");
-
-            byte[] decoded = Base64.getDecoder().decode(cleaned);
-            X509EncodedKeySpec spec = new X509EncodedKeySpec(decoded);
-            PublicKey parsedKey = KeyFactory.getInstance("RSA").generatePublic(spec);
-            cachedVerifyingKey = parsedKey;
-            log.info("JWT verifying key loaded successfully");
-            return parsedKey;
-        } catch (Exception e) {
-            log.error("Failed to load JWT verifying key: {}", e.getMessage());
-            throw new IllegalStateException("Invalid jwt verifying key configuration", e);
-        }
-    }
-
-    private String loadPemFromPath() throws Exception {
-        if (verifyingKeyPath.isBlank()) {
-            throw new IllegalStateException("Set jwt.verifying-key or jwt.verifying-key-path");
-        }
-
-        if (verifyingKeyPath.startsWith("classpath:")) {
-            String classpathLocation = verifyingKeyPath.substring("classpath:".length());
-            return new String(new ClassPathResource(classpathLocation).getInputStream().readAllBytes());
-        }
-
-        return Files.readString(Path.of(verifyingKeyPath));
+    public JwtUtil(JwtKeyRing keyRing) {
+        // The key ring picks the verifying key per token, so the parser never has to be rebuilt.
+        this.parser = Jwts.parser()
+                .keyLocator(keyRing)
+                .build();
     }
 
     public String extractEmail(Claims claims) {
@@ -159,9 +115,7 @@ public class JwtUtil {
 
     public Claims parseClaims(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getVerifyingKey())
-                    .build()
+            Claims claims = parser
                     .parseSignedClaims(token)
                     .getPayload();
             log.debug("JWT signature verified successfully");
@@ -192,17 +146,18 @@ public class JwtUtil {
         }
     }
 
+    /** True for an unexpired token of type {@code access}; the claims must come from {@link #parseClaims}. */
+    public boolean isValidAccessToken(Claims claims) {
+        boolean valid = !isTokenExpired(claims) && Objects.equals("access", extractTokenType(claims));
+        if (!valid) {
+            log.debug("JWT rejected: invalid token_type or expired");
+        }
+        return valid;
+    }
+
     public Boolean validateToken(String token) {
         try {
-            Claims claims = parseClaims(token);
-            String tokenType = extractTokenType(claims);
-            boolean valid = !isTokenExpired(claims) && Objects.equals("access", tokenType);
-            if (valid) {
-                log.debug("JWT validated successfully");
-            } else {
-                log.debug("JWT rejected: invalid token_type or expired");
-            }
-            return valid;
+            return isValidAccessToken(parseClaims(token));
         } catch (Exception e) {
             log.warn("JWT validation failed: {}", e.getMessage());
             return false;
@@ -59,7 +59,11 @@ public class SecurityConfig {
                                 "/api/items/search/location",
                                 "/api/items/counts",
                                 "/api/items/categories",
-                                "/api/product/*/comments").permitAll()
+                                "/api/product/*/comments",
+                                "/api/product/*/comments/*/replies").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.POST,
+                                "/api/users/revoked-tokens").hasRole("AUTH_SERVER")
+                        .requestMatchers("/api/admin/**").hasRole("AUTH_SERVER")
                         .requestMatchers("/api/**").authenticated()
                         .anyRequest().denyAll()
                 )
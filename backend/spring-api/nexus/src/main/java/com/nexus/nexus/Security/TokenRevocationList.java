@@ -0,0 +1,152 @@
+package com.nexus.nexus.Security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Access tokens the auth server has revoked before their {@code exp}, by {@code jti}.
+ * <p>
+ * A bloom filter sits in front of the exact {@code jti -> exp} map, so the common not-revoked
+ * lookup is a handful of bit probes and only a filter hit (a revoked token, or a rare false
+ * positive) reaches the map. Entries are dropped once their token has expired anyway, and the
+ * filter is rebuilt from what is left, since bits cannot be cleared individually.
+ * <p>
+ * The list lives in memory only: each instance must receive the feed, and it is empty after a
+ * restart until the auth server pushes it again.
+ */
+@Component
+public class TokenRevocationList {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final Clock clock;
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter;
+
+    @Autowired
+    public TokenRevocationList(@Value("${security.jwt.revocation.expected-entries:100000}") int expectedEntries,
+                               @Value("${security.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this(expectedEntries, falsePositiveRate, Clock.systemUTC());
+    }
+
+    TokenRevocationList(int expectedEntries, double falsePositiveRate, Clock clock) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("Expected revocation entries must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("Revocation false-positive rate must be between 0 and 1");
+        }
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clock = clock;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(clock.instant());
+    }
+
+    /** Revokes the token until {@code expiresAt}; tokens that have already expired are ignored. */
+    public synchronized void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || tokenId.isBlank()) {
+            throw new IllegalArgumentException("Revoked token must have a jti");
+        }
+        if (expiresAt == null) {
+            throw new IllegalArgumentException("Revoked token must have an expiry");
+        }
+        if (!expiresAt.isAfter(clock.instant())) {
+            return;
+        }
+        // The map entry is written before the bits so a reader that sees the bits also sees it.
+        revoked.merge(tokenId, expiresAt, (a, b) -> a.isAfter(b) ? a : b);
+        filter.add(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.purge-interval:PT5M}",
+            initialDelayString = "${security.jwt.revocation.purge-interval:PT5M}")
+    public synchronized void purgeExpired() {
+        Instant now = clock.instant();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        if (revoked.size() == before && before <= expectedEntries) {
+            return;
+        }
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, revoked.size() * 2), falsePositiveRate);
+        revoked.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        log.debug("Token revocation list purged: {} -> {} entries", before, revoked.size());
+    }
+
+    private static final class BloomFilter {
+        private final AtomicLongArray words;
+        private final long bits;
+        private final int hashes;
+
+        BloomFilter(int expectedEntries, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.max(1, (optimalBits + 63) / 64);
+            this.words = new AtomicLongArray(wordCount);
+            this.bits = (long) wordCount * 64;
+            this.hashes = Math.max(1, (int) Math.round((double) bits / expectedEntries * ln2));
+        }
+
+        void add(String value) {
+            long h1 = mix(value.hashCode());
+            long h2 = fnv1a(value) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                words.getAndAccumulate((int) (bit >>> 6), 1L << bit, (word, mask) -> word | mask);
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h1 = mix(value.hashCode());
+            long h2 = fnv1a(value) | 1;
+            for (int i = 0; i < hashes; i++) {
+                long bit = Math.floorMod(h1 + i * h2, bits);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long mix(long h) {
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            return h ^ (h >>> 33);
+        }
+
+        private static long fnv1a(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                h ^= value.charAt(i);
+                h *= 0x100000001b3L;
+            }
+            return h;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.nexus.nexus.Security;
+
+import com.nexus.nexus.Cache.TtlCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Principals of access tokens whose signature has already been verified, so repeat requests
+ * with the same token skip the RSA check.
+ * <p>
+ * Entries are keyed by the SHA-256 of the whole compact token (never by {@code jti} alone,
+ * which a forged token could copy) and expire at the token's {@code exp}.
+ * <p>
+ * Each entry is tagged with the key ring generation it was verified under. {@link #clear()} moves
+ * to a new generation, so a verification that was still running against the previous ring when
+ * the keys were reloaded can store its principal, but that entry is never served.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final TtlCache<String, Entry> principals;
+    private final AtomicLong generation = new AtomicLong();
+
+    public VerifiedTokenCache(@Value("${security.jwt.verified-cache-size:10000}") int maxSize,
+                              @Value("${security.jwt.verified-cache-max-ttl:PT15M}") Duration maxTtl) {
+        this.principals = new TtlCache<>(maxTtl, maxSize);
+    }
+
+    public JwtPrincipal get(String token) {
+        Entry entry = principals.get(hash(token));
+        return entry != null && entry.generation() == generation.get() ? entry.principal() : null;
+    }
+
+    /** Current key ring generation; read it before verifying a token and pass it to {@link #put}. */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void put(String token, JwtPrincipal principal, Date expiresAt, long verifiedGeneration) {
+        if (expiresAt == null || verifiedGeneration != generation.get()) {
+            return;
+        }
+        principals.put(hash(token), new Entry(principal, verifiedGeneration),
+                Duration.between(Instant.now(), expiresAt.toInstant()));
+    }
+
+    /** Forgets every verified token, including any still being verified against the old keys. */
+    public void clear() {
+        generation.incrementAndGet();
+        principals.invalidateAll();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry(JwtPrincipal principal, long generation) {
+    }
+}
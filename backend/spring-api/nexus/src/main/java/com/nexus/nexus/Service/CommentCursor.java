@@ -0,0 +1,40 @@
+package com.nexus.nexus.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (createdAt ASC, id ASC)} comment ordering, used both for
+ * top-level comments and for the replies of one comment.
+ * Clients only ever see the opaque {@link #encode()} form.
+ */
+public record CommentCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns {@code null} for a blank cursor, which means "start from the oldest comment". */
+    public static CommentCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new CommentCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
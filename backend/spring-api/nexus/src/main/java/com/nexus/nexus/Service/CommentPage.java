@@ -4,12 +4,29 @@ import com.nexus.nexus.Dto.CommentResponseDto;
 
 import java.util.List;
 
+/**
+ * A page of comments, each with a preview of its first replies.
+ * <p>
+ * Offset pages fill {@code page}, {@code totalItems} and {@code totalPages}. Cursor (keyset) pages
+ * skip the COUNT query, so those two totals are {@code -1}; pass {@code next} back as the
+ * {@code cursor} request parameter to fetch the following page ({@code null} when there is none).
+ */
 public record CommentPage(
         List<CommentResponseDto> items,
         int page,
         int size,
         long totalItems,
         int totalPages,
-        boolean hasNext
+        boolean hasNext,
+        String next
 ) {
+
+    public CommentPage(List<CommentResponseDto> items, int page, int size, long totalItems, int totalPages,
+                       boolean hasNext) {
+        this(items, page, size, totalItems, totalPages, hasNext, null);
+    }
+
+    public static CommentPage ofCursor(List<CommentResponseDto> items, int size, String next) {
+        return new CommentPage(items, 0, size, -1, -1, next != null, next);
+    }
 }
@@ -7,12 +7,21 @@ import com.nexus.nexus.Security.JwtPrincipal;
 
 public interface CommentService {
 
-    /** Returns paged top-level comments for an item, each with their replies nested inside. */
+    /** Returns paged top-level comments for an item, each with a preview of its first replies. */
     CommentPage getCommentsForItem(Long itemId, int page, int size);
 
+    /** Keyset page of top-level comments, oldest-first; a blank cursor starts from the first comment. */
+    CommentPage getCommentsForItemAfter(Long itemId, String cursor, int size);
+
+    /**
+     * Keyset page of the direct replies of a comment, oldest-first, each with a preview of its own
+     * first replies. Pass a comment's {@code repliesNext} as the cursor to continue after its preview.
+     */
+    CommentPage getReplies(Long itemId, Long commentId, String cursor, int size);
+
     /** Creates a top-level comment (parentCommentId == null) or a reply. */
     CommentResponseDto addComment(Long itemId, CommentRequestDto request, JwtPrincipal principal);
 
-    /** Reports a comment; deletes it after 3 distinct reports. */
+    /** Records a report; {@code ModerationWorker} removes the comment once it has 3 distinct reports. */
     void reportComment(Long itemId, Long commentId, String cause, JwtPrincipal principal);
 }
@@ -0,0 +1,17 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Dto.ModerationActionRequestDto;
+import com.nexus.nexus.Dto.ModerationCaseDto;
+import com.nexus.nexus.Enumaration.ModerationState;
+
+public interface ModerationService {
+
+    /** Cases oldest-first; a null {@code state} lists every case. */
+    ProductPage<ModerationCaseDto> findCases(ModerationState state, int page, int size);
+
+    /**
+     * Closes the given open cases with one decision, all or nothing. Returns the number of cases
+     * closed.
+     */
+    int applyAction(ModerationActionRequestDto request);
+}
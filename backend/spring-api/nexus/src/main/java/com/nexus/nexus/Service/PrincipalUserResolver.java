@@ -0,0 +1,75 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Cache.TtlCache;
+import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Security.JwtPrincipal;
+import com.nexus.nexus.Transaction.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Maps the caller's JWT to their {@code users_user} row.
+ * <p>
+ * The email-to-id mapping is cached, so on a hit the caller gets an unloaded
+ * {@link UserRepository#getReferenceById reference}: using it as a foreign key costs no SELECT,
+ * and reading its fields loads it by primary key. Call {@link #evict} whenever a user's email
+ * changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalUserResolver {
+
+    private final UserRepository userRepository;
+    private final TtlCache<String, Long> userIdByEmailCache;
+
+    /** The caller's user, created on first sight. Must run inside a transaction. */
+    public User resolve(JwtPrincipal principal) {
+        Long cachedId = userIdByEmailCache.get(principal.email());
+        if (cachedId != null) {
+            return userRepository.getReferenceById(cachedId);
+        }
+        User user = userRepository.findByEmail(principal.email())
+                .orElseGet(() -> userRepository.save(newUser(principal)));
+        // A user created here disappears again if the caller's transaction rolls back.
+        String email = user.getEmail();
+        Long id = user.getId();
+        AfterCommit.run(() -> userIdByEmailCache.put(email, id));
+        return user;
+    }
+
+    /** Id of the user with this email, without creating one. */
+    public Optional<Long> findUserId(String email) {
+        Long cachedId = userIdByEmailCache.get(email);
+        if (cachedId != null) {
+            return Optional.of(cachedId);
+        }
+        Optional<Long> id = userRepository.findByEmail(email).map(User::getId);
+        id.ifPresent(value -> userIdByEmailCache.put(email, value));
+        return id;
+    }
+
+    /** Drops the mapping once the current transaction commits, so a concurrent resolve cannot re-cache it. */
+    public void evict(String email) {
+        AfterCommit.run(() -> userIdByEmailCache.invalidate(email));
+    }
+
+    private static User newUser(JwtPrincipal principal) {
+        String fullName = principal.name() != null && !principal.name().isBlank()
+                ? principal.name()
+                : principal.email().split("@")[0];
+        return User.builder()
+                .fullName(fullName)
+                .email(principal.email())
+                .password(UUID.randomUUID().toString())
+                .registrationDate(OffsetDateTime.now())
+                .lastSeen(OffsetDateTime.now())
+                .isVerified(true)
+                .isSuperuser(false)
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.nexus.nexus.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in the {@code (createdAt DESC, id DESC)} item ordering.
+ * Clients only ever see the opaque {@link #encode()} form.
+ */
+public record ProductCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toInstant().toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Returns {@code null} for a blank cursor, which means "start from the newest item". */
+    public static ProductCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            OffsetDateTime createdAt = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            Long id = Long.parseLong(raw.substring(separator + 1));
+            return new ProductCursor(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
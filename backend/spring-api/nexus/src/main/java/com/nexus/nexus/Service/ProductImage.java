@@ -0,0 +1,51 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Storage.StoredBlob;
+
+/**
+ * Image of an item in the blob store together with the content hash that identifies it.
+ * The hash is stable for identical bytes, so it is used verbatim as the HTTP ETag.
+ */
+public record ProductImage(String hash, String contentType, StoredBlob blob) {
+
+    /** Enough leading bytes for every signature checked by {@link #detectContentType}. */
+    public static final int SNIFF_LENGTH = 12;
+
+    /** Returned for bytes that match no image signature; never rendered inline by a browser. */
+    public static final String UNKNOWN_CONTENT_TYPE = "application/octet-stream";
+
+    /** Sniffs the content type from the leading magic bytes; uploads carry no trustworthy type of their own. */
+    public static String detectContentType(byte[] data) {
+        if (startsWith(data, 0xFF, 0xD8, 0xFF)) {
+            return "image/jpeg";
+        }
+        if (startsWith(data, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "image/png";
+        }
+        if (startsWith(data, 'G', 'I', 'F', '8')) {
+            return "image/gif";
+        }
+        if (data.length >= 12 && startsWith(data, 'R', 'I', 'F', 'F')
+                && data[8] == 'W' && data[9] == 'E' && data[10] == 'B' && data[11] == 'P') {
+            return "image/webp";
+        }
+        return UNKNOWN_CONTENT_TYPE;
+    }
+
+    /** Whether the leading bytes carry one of the image signatures recognised by {@link #detectContentType}. */
+    public static boolean isImage(byte[] data) {
+        return !UNKNOWN_CONTENT_TYPE.equals(detectContentType(data));
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data == null || data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
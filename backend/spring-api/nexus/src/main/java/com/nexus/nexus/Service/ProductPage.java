@@ -2,12 +2,28 @@ package com.nexus.nexus.Service;
 
 import java.util.List;
 
+/**
+ * A page of items.
+ * <p>
+ * Offset pages fill {@code page}, {@code totalItems} and {@code totalPages}. Cursor (keyset) pages
+ * skip the COUNT query, so those two totals are {@code -1}; pass {@code next} back as the
+ * {@code cursor} request parameter to fetch the following page ({@code null} when there is none).
+ */
 public record ProductPage<T>(
         List<T> items,
         int page,
         int size,
         long totalItems,
         int totalPages,
-        boolean hasNext
+        boolean hasNext,
+        String next
 ) {
+
+    public ProductPage(List<T> items, int page, int size, long totalItems, int totalPages, boolean hasNext) {
+        this(items, page, size, totalItems, totalPages, hasNext, null);
+    }
+
+    public static <T> ProductPage<T> ofCursor(List<T> items, int size, String next) {
+        return new ProductPage<>(items, 0, size, -1, -1, next != null, next);
+    }
 }
@@ -6,40 +6,69 @@ import com.nexus.nexus.Dto.ProductListItemDto;
 import com.nexus.nexus.Dto.ProductRequestDto;
 import com.nexus.nexus.Dto.ProductResponseDto;
 import com.nexus.nexus.Dto.UserItemCountsDto;
+import com.nexus.nexus.Enumaration.ImageVariant;
 import com.nexus.nexus.Enumaration.TypeOfReport;
 import com.nexus.nexus.Security.JwtPrincipal;
+import org.springframework.core.io.InputStreamSource;
 
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
 import java.util.List;
 
 public interface ProductService {
 
     ProductPage<ProductListItemDto> findAllProducts(int page, int size);
 
+    /** Keyset page ordered by (createdAt DESC, id DESC); a blank cursor starts from the newest item. */
+    ProductPage<ProductListItemDto> findAllProductsAfter(String cursor, int size);
+
     ProductResponseDto getProductById(Long productId);
 
+    /**
+     * Image of the item, looked up by the content hash stored on the item row. A variant that
+     * has not been generated yet falls back to the original. Only active items serve their image.
+     */
+    ProductImage getProductImage(Long productId, ImageVariant variant);
+
     ProductResponseDto addProduct(ProductRequestDto request, JwtPrincipal principal);
 
+    /** Same as {@link #addProduct(ProductRequestDto, JwtPrincipal)} with the image streamed from an upload. */
+    ProductResponseDto addProduct(ProductRequestDto request, InputStreamSource image, JwtPrincipal principal);
+
     ProductResponseDto deleteProduct(Long productId, JwtPrincipal principal);
 
     ProductResponseDto updateProduct(Long productId, ProductRequestDto request, JwtPrincipal principal);
 
+    /** A non-null {@code image} replaces the item image and takes precedence over {@code request.image}. */
+    ProductResponseDto updateProduct(Long productId, ProductRequestDto request, InputStreamSource image,
+                                     JwtPrincipal principal);
+
     void reportItem(Long itemId, JwtPrincipal principal);
 
     List<ProductResponseDto> searchProducts(String keyword);
 
+    /** Full-text search over item name and description, ranked by relevance. */
+    ProductPage<ProductListItemDto> searchByText(String query, int page, int size);
+
     ProductPage<ProductResponseDto> searchByLocation(Double centerLat, Double centerLon, Double radiusKm,
                                                      String name, TypeOfReport type,
                                                      List<Long> categoryIds,
                                                      OffsetDateTime from, OffsetDateTime to,
                                                      int page, int size);
 
-    ItemCountsDto getItemCounts(ZoneId zoneId);
+    ProductPage<ProductResponseDto> searchByLocationAfter(Double centerLat, Double centerLon, Double radiusKm,
+                                                          String name, TypeOfReport type,
+                                                          List<Long> categoryIds,
+                                                          OffsetDateTime from, OffsetDateTime to,
+                                                          String cursor, int size);
+
+    ItemCountsDto getItemCounts();
 
     UserItemCountsDto getUserItemCounts(JwtPrincipal principal);
 
     UserItemCountsDto getUserItemCounts(Long userId);
 
+    /** Statistics for several users in one lookup, in the order of the (de-duplicated) ids. */
+    List<UserItemCountsDto> getUsersItemCounts(List<Long> userIds);
+
     List<CategoryDto> getAllCategories();
 }
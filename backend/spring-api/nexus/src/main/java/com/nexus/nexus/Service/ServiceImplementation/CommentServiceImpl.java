@@ -1,94 +1,92 @@
 package com.nexus.nexus.Service.ServiceImplementation;
 
+import com.nexus.nexus.Cache.CommentPageCache;
 import com.nexus.nexus.Dto.CommentRequestDto;
 import com.nexus.nexus.Dto.CommentResponseDto;
 import com.nexus.nexus.Entity.Comment;
-import com.nexus.nexus.Entity.CommentReport;
 import com.nexus.nexus.Entity.Item;
 import com.nexus.nexus.Entity.User;
 import com.nexus.nexus.Mapper.CommentMapper;
 import com.nexus.nexus.Repository.CommentReportRepository;
 import com.nexus.nexus.Repository.CommentRepository;
 import com.nexus.nexus.Repository.ReportRepository;
-import com.nexus.nexus.Repository.UserRepository;
 import com.nexus.nexus.Security.JwtPrincipal;
+import com.nexus.nexus.Service.CommentCursor;
 import com.nexus.nexus.Service.CommentPage;
 import com.nexus.nexus.Service.CommentService;
-import lombok.RequiredArgsConstructor;
+import com.nexus.nexus.Service.PrincipalUserResolver;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @Service
-@RequiredArgsConstructor
 public class CommentServiceImpl implements CommentService {
 
+    /** Hard cap for one page of comments or replies. */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Replies nested under each comment of a page; the rest are paged through {@link #getReplies}. */
+    static final int REPLY_PREVIEW_SIZE = 3;
+
     private final CommentRepository commentRepository;
     private final CommentReportRepository commentReportRepository;
     private final ReportRepository reportRepository;
-    private final UserRepository userRepository;
+    private final PrincipalUserResolver principalUserResolver;
     private final CommentMapper commentMapper;
+    private final CommentPageCache commentPageCache;
+    /** Loads pages on a cache miss; reads only, so the connection runs read-only and skips the flush. */
+    private final TransactionTemplate readOnlyTransaction;
+
+    public CommentServiceImpl(CommentRepository commentRepository,
+                              CommentReportRepository commentReportRepository,
+                              ReportRepository reportRepository,
+                              PrincipalUserResolver principalUserResolver,
+                              CommentMapper commentMapper,
+                              CommentPageCache commentPageCache,
+                              PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.commentReportRepository = commentReportRepository;
+        this.reportRepository = reportRepository;
+        this.principalUserResolver = principalUserResolver;
+        this.commentMapper = commentMapper;
+        this.commentPageCache = commentPageCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
 
     @Override
-    @Transactional(readOnly = true)
     public CommentPage getCommentsForItem(Long itemId, int page, int size) {
-        // Verify item exists
-        reportRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item not found"));
-
         int safePage = Math.max(0, page);
-        int safeSize = Math.max(1, size);
-
-        Page<Comment> rootsPage = commentRepository.findByItemIdAndParentIsNullOrderByCreatedAtAsc(
-                itemId, PageRequest.of(safePage, safeSize));
-        List<Comment> roots = rootsPage.getContent();
-
-        List<Long> rootIds = roots.stream().map(Comment::getId).toList();
-        List<Comment> replies = rootIds.isEmpty()
-                ? List.of()
-                : commentRepository.findByParentIdInOrderByCreatedAtAsc(rootIds);
-
-        Map<Long, CommentResponseDto> rootDtoMap = new LinkedHashMap<>();
-        for (Comment root : roots) {
-            CommentResponseDto dto = commentMapper.toDto(root);
-            dto.setReplies(new ArrayList<>());
-            rootDtoMap.put(root.getId(), dto);
-        }
-
-        Map<Long, List<CommentResponseDto>> repliesByParent = new HashMap<>();
-        for (Comment reply : replies) {
-            CommentResponseDto dto = commentMapper.toDto(reply);
-            dto.setReplies(new ArrayList<>());
-            repliesByParent.computeIfAbsent(reply.getParent().getId(), key -> new ArrayList<>())
-                    .add(dto);
-        }
+        int safeSize = pageSize(size);
+        return commentPageCache.get(itemId, null, null, safePage, safeSize,
+                () -> readOnlyTransaction.execute(status -> loadRoots(itemId, safePage, safeSize)));
+    }
 
-        for (Map.Entry<Long, List<CommentResponseDto>> entry : repliesByParent.entrySet()) {
-            CommentResponseDto parent = rootDtoMap.get(entry.getKey());
-            if (parent != null) {
-                parent.getReplies().addAll(entry.getValue());
-            }
-        }
+    @Override
+    public CommentPage getCommentsForItemAfter(Long itemId, String cursor, int size) {
+        CommentCursor position = CommentCursor.decode(cursor);
+        int safeSize = pageSize(size);
+        return commentPageCache.get(itemId, null, cacheKey(position), 0, safeSize,
+                () -> readOnlyTransaction.execute(status -> loadRootsAfter(itemId, position, safeSize)));
+    }
 
-        List<CommentResponseDto> items = new ArrayList<>(rootDtoMap.values());
-        return new CommentPage(
-                items,
-                safePage,
-                safeSize,
-                rootsPage.getTotalElements(),
-                rootsPage.getTotalPages(),
-                rootsPage.hasNext()
-        );
+    @Override
+    public CommentPage getReplies(Long itemId, Long commentId, String cursor, int size) {
+        CommentCursor position = CommentCursor.decode(cursor);
+        int safeSize = pageSize(size);
+        return commentPageCache.get(itemId, commentId, cacheKey(position), 0, safeSize,
+                () -> readOnlyTransaction.execute(status -> loadReplies(itemId, commentId, position, safeSize)));
     }
 
     @Override
@@ -104,7 +102,7 @@ public class CommentServiceImpl implements CommentService {
         Item item = reportRepository.findById(itemId)
                 .orElseThrow(() -> new IllegalArgumentException("Item not found"));
 
-        User author = resolveAuthor(principal);
+        User author = principalUserResolver.resolve(principal);
 
         Comment parent = null;
         if (request.getParentCommentId() != null) {
@@ -114,6 +112,9 @@ public class CommentServiceImpl implements CommentService {
             if (!parent.getItem().getId().equals(itemId)) {
                 throw new IllegalArgumentException("Parent comment does not belong to this item");
             }
+            if (parent.getDepth() >= Comment.MAX_DEPTH) {
+                throw new IllegalArgumentException("Replies cannot be nested more than " + Comment.MAX_DEPTH + " levels deep");
+            }
         }
 
         Comment comment = Comment.builder()
@@ -122,13 +123,17 @@ public class CommentServiceImpl implements CommentService {
                 .item(item)
                 .author(author)
                 .parent(parent)
+                .depth(parent == null ? 0 : parent.getDepth() + 1)
+                .path(parent == null ? Comment.ROOT_PATH : parent.childPath())
                 .build();
 
         comment = commentRepository.save(comment);
+        if (parent != null) {
+            commentRepository.incrementReplyCount(parent.getId());
+        }
+        commentPageCache.invalidate(itemId);
 
-        CommentResponseDto dto = commentMapper.toDto(comment);
-        dto.setReplies(new ArrayList<>());
-        return dto;
+        return toDto(comment);
     }
 
     @Override
@@ -140,36 +145,120 @@ public class CommentServiceImpl implements CommentService {
             throw new IllegalArgumentException("Report cause is required");
         }
 
-        // Verify item exists
-        reportRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item not found"));
+        User reporter = principalUserResolver.resolve(principal);
+
+        // Counting and removal happen later, in ModerationWorker.
+        int inserted = commentReportRepository.insertIfAbsent(itemId, commentId, reporter.getId(), cause.trim(),
+                OffsetDateTime.now());
+        if (inserted == 0) {
+            // Nothing was recorded; work out why only on this rare path.
+            if (!reportRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item not found");
+            }
+            Comment comment = commentRepository.findById(commentId)
+                    .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
+            if (!comment.getItem().getId().equals(itemId)) {
+                throw new IllegalArgumentException("Comment does not belong to this item");
+            }
+            throw new IllegalArgumentException("You have already reported this comment");
+        }
+    }
 
-        Comment comment = commentRepository.findById(commentId)
+    private CommentPage loadRoots(Long itemId, int page, int size) {
+        requireItem(itemId);
+        Page<Comment> rootsPage = commentRepository.findRoots(itemId, PageRequest.of(page, size));
+        return new CommentPage(
+                withReplyPreviews(rootsPage.getContent()),
+                page,
+                size,
+                rootsPage.getTotalElements(),
+                rootsPage.getTotalPages(),
+                rootsPage.hasNext()
+        );
+    }
+
+    private CommentPage loadRootsAfter(Long itemId, CommentCursor position, int size) {
+        requireItem(itemId);
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Comment> rows = position == null
+                ? commentRepository.findRootsFirst(itemId, limit)
+                : commentRepository.findRootsAfter(itemId, position.createdAt(), position.id(), limit);
+        return cursorPage(rows, size);
+    }
+
+    private CommentPage loadReplies(Long itemId, Long commentId, CommentCursor position, int size) {
+        Comment parent = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
-        if (!comment.getItem().getId().equals(itemId)) {
+        if (!parent.getItem().getId().equals(itemId)) {
             throw new IllegalArgumentException("Comment does not belong to this item");
         }
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Comment> rows = position == null
+                ? commentRepository.findRepliesFirst(commentId, limit)
+                : commentRepository.findRepliesAfter(commentId, position.createdAt(), position.id(), limit);
+        return cursorPage(rows, size);
+    }
+
+    private void requireItem(Long itemId) {
+        if (!reportRepository.existsById(itemId)) {
+            throw new IllegalArgumentException("Item not found");
+        }
+    }
 
-        User reporter = resolveAuthor(principal);
+    /** Rows were fetched with one extra element; its presence means there is a next page. */
+    private CommentPage cursorPage(List<Comment> rows, int pageSize) {
+        List<Comment> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        String next = rows.size() > pageSize ? cursorOf(page.get(pageSize - 1)) : null;
+        return CommentPage.ofCursor(withReplyPreviews(page), pageSize, next);
+    }
 
-        if (commentReportRepository.existsByCommentIdAndReporterId(commentId, reporter.getId())) {
-            throw new IllegalArgumentException("You have already reported this comment");
+    /**
+     * Maps the comments and nests the first {@link #REPLY_PREVIEW_SIZE} replies of each, all read
+     * with one query. A comment with more replies gets a {@code repliesNext} cursor for the rest.
+     */
+    private List<CommentResponseDto> withReplyPreviews(List<Comment> comments) {
+        if (comments.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = comments.stream().map(Comment::getId).toList();
+        // One extra reply per parent tells whether there is more to page through.
+        Map<Long, List<Comment>> repliesByParent = new HashMap<>();
+        for (Comment reply : commentRepository.findFirstReplies(ids, REPLY_PREVIEW_SIZE + 1)) {
+            repliesByParent.computeIfAbsent(reply.getParent().getId(), key -> new ArrayList<>()).add(reply);
         }
 
-        commentReportRepository.save(CommentReport.builder()
-                .comment(comment)
-                .reporter(reporter)
-                .cause(cause.trim())
-                .createdAt(OffsetDateTime.now())
-                .build());
-
-        long reportCount = commentReportRepository.countByCommentId(commentId);
-        if (reportCount >= 3) {
-            // Delete replies first to avoid FK violations
-            commentRepository.deleteByParentId(commentId);
-            commentReportRepository.deleteByCommentId(commentId);
-            commentRepository.deleteById(commentId);
+        List<CommentResponseDto> dtos = new ArrayList<>(comments.size());
+        for (Comment comment : comments) {
+            CommentResponseDto dto = toDto(comment);
+            List<Comment> replies = repliesByParent.getOrDefault(comment.getId(), List.of());
+            for (int i = 0; i < Math.min(replies.size(), REPLY_PREVIEW_SIZE); i++) {
+                dto.getReplies().add(toDto(replies.get(i)));
+            }
+            if (replies.size() > REPLY_PREVIEW_SIZE) {
+                dto.setRepliesNext(cursorOf(replies.get(REPLY_PREVIEW_SIZE - 1)));
+            }
+            dtos.add(dto);
         }
+        return dtos;
+    }
+
+    private CommentResponseDto toDto(Comment comment) {
+        CommentResponseDto dto = commentMapper.toDto(comment);
+        dto.setReplies(new ArrayList<>());
+        return dto;
+    }
+
+    private static String cursorOf(Comment comment) {
+        return new CommentCursor(comment.getCreatedAt(), comment.getId()).encode();
+    }
+
+    /** Cursor pages are cached by their decoded position; the first page has the empty key. */
+    private static String cacheKey(CommentCursor position) {
+        return position == null ? "" : position.encode();
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
     }
 
     private void validatePrincipal(JwtPrincipal principal) {
@@ -180,22 +269,4 @@ public class CommentServiceImpl implements CommentService {
             throw new SecurityException("User is not verified");
         }
     }
-
-    private User resolveAuthor(JwtPrincipal principal) {
-        return userRepository.findByEmail(principal.email())
-                .orElseGet(() -> {
-                    String fullName = principal.name() != null && !principal.name().isBlank()
-                            ? principal.name()
-                            : principal.email().split("@")[0];
-                    return userRepository.save(User.builder()
-                            .fullName(fullName)
-                            .email(principal.email())
-                            .password(UUID.randomUUID().toString())
-                            .registrationDate(OffsetDateTime.now())
-                            .lastSeen(OffsetDateTime.now())
-                            .isVerified(true)
-                            .isSuperuser(false)
-                            .build());
-                });
-    }
 }
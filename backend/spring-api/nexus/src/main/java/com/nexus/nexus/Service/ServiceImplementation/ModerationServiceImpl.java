@@ -0,0 +1,105 @@
+package com.nexus.nexus.Service.ServiceImplementation;
+
+import com.nexus.nexus.Dto.ModerationActionRequestDto;
+import com.nexus.nexus.Dto.ModerationCaseDto;
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Enumaration.ModerationAction;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import com.nexus.nexus.Moderation.ModerationActions;
+import com.nexus.nexus.Repository.ModerationCaseRepository;
+import com.nexus.nexus.Service.ModerationService;
+import com.nexus.nexus.Service.ProductPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class ModerationServiceImpl implements ModerationService {
+
+    /** Hard cap for cases listed or decided in one call. */
+    static final int MAX_BATCH = 100;
+
+    private final ModerationCaseRepository moderationCaseRepository;
+    private final ModerationActions moderationActions;
+
+    @Override
+    @Transactional(readOnly = true)
+    public ProductPage<ModerationCaseDto> findCases(ModerationState state, int page, int size) {
+        if (page < 0 || size <= 0) {
+            throw new IllegalArgumentException("Page must be >= 0 and size must be > 0");
+        }
+        PageRequest pageable = PageRequest.of(page, Math.min(size, MAX_BATCH), Sort.by("id"));
+        Page<ModerationCase> cases = state != null
+                ? moderationCaseRepository.findByState(state, pageable)
+                : moderationCaseRepository.findAll(pageable);
+        List<ModerationCaseDto> items = cases.getContent().stream().map(ModerationServiceImpl::toDto).toList();
+        return new ProductPage<>(items, cases.getNumber(), cases.getSize(), cases.getTotalElements(),
+                cases.getTotalPages(), cases.hasNext());
+    }
+
+    @Override
+    @Transactional
+    public int applyAction(ModerationActionRequestDto request) {
+        if (request == null || request.getAction() == null) {
+            throw new IllegalArgumentException("Action is required");
+        }
+        if (request.getCaseIds() == null || request.getCaseIds().isEmpty()) {
+            throw new IllegalArgumentException("At least one case id is required");
+        }
+        Set<Long> ids = new LinkedHashSet<>(request.getCaseIds());
+        if (ids.size() > MAX_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH + " cases per request");
+        }
+
+        List<ModerationCase> cases = moderationCaseRepository.findAllById(ids);
+        if (cases.size() != ids.size()) {
+            throw new IllegalArgumentException("Moderation case not found");
+        }
+        for (ModerationCase moderationCase : cases) {
+            if (!moderationCase.getState().isOpen()) {
+                throw new IllegalArgumentException("Moderation case " + moderationCase.getId() + " is already closed");
+            }
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (ModerationCase moderationCase : cases) {
+            boolean item = moderationCase.getTargetType() == ModerationTargetType.ITEM;
+            if (request.getAction() == ModerationAction.DISMISS) {
+                if (item) {
+                    moderationActions.restoreItem(moderationCase.getTargetId());
+                }
+                moderationCase.setState(ModerationState.DISMISSED);
+            } else {
+                if (item) {
+                    moderationActions.removeItem(moderationCase.getTargetId());
+                } else {
+                    moderationActions.removeComment(moderationCase.getTargetId());
+                }
+                moderationCase.setState(ModerationState.REMOVED);
+            }
+            moderationCase.setUpdatedAt(now);
+        }
+        return cases.size();
+    }
+
+    private static ModerationCaseDto toDto(ModerationCase moderationCase) {
+        return ModerationCaseDto.builder()
+                .id(moderationCase.getId())
+                .targetType(moderationCase.getTargetType())
+                .targetId(moderationCase.getTargetId())
+                .state(moderationCase.getState())
+                .createdAt(moderationCase.getCreatedAt())
+                .updatedAt(moderationCase.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.nexus.nexus.Service.ServiceImplementation;
 
+import com.nexus.nexus.Cache.CommentPageCache;
+import com.nexus.nexus.Cache.TtlCache;
 import com.nexus.nexus.Dto.CategoryDto;
 import com.nexus.nexus.Dto.ItemCountsDto;
 import com.nexus.nexus.Dto.ProductListItemDto;
@@ -8,56 +10,112 @@ import com.nexus.nexus.Dto.ProductResponseDto;
 import com.nexus.nexus.Dto.UserItemCountsDto;
 import com.nexus.nexus.Entity.Category;
 import com.nexus.nexus.Entity.Item;
-import com.nexus.nexus.Entity.ItemReport;
+import com.nexus.nexus.Entity.ItemImage;
 import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Enumaration.ImageVariant;
 import com.nexus.nexus.Enumaration.Status;
 import com.nexus.nexus.Enumaration.TypeOfReport;
+import com.nexus.nexus.Image.ImageNormalizer;
+import com.nexus.nexus.Image.ImageVariantPipeline;
 import com.nexus.nexus.Mapper.ProductMapper;
+import com.nexus.nexus.Moderation.ItemReportCounter;
 import com.nexus.nexus.Repository.CategoryRepository;
+import com.nexus.nexus.Repository.ItemImageRepository;
+import com.nexus.nexus.Repository.ItemRow;
 import com.nexus.nexus.Repository.ItemReportRepository;
+import com.nexus.nexus.Repository.ItemSpecifications;
 import com.nexus.nexus.Repository.ReportRepository;
-import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Search.ItemGeoIndex;
 import com.nexus.nexus.Security.JwtPrincipal;
+import com.nexus.nexus.Service.PrincipalUserResolver;
+import com.nexus.nexus.Service.ProductCursor;
+import com.nexus.nexus.Service.ProductImage;
 import com.nexus.nexus.Service.ProductPage;
 import com.nexus.nexus.Service.ProductService;
+import com.nexus.nexus.Stats.ItemCounters;
+import com.nexus.nexus.Storage.BlobStore;
+import com.nexus.nexus.Storage.StoredBlob;
+import com.nexus.nexus.Transaction.AfterCommit;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
 import java.time.OffsetDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    /** Hard cap for cursor and full-text pages so every page costs the same. */
+    static final int MAX_PAGE_SIZE = 100;
+
+    /** Hard cap for user ids in one statistics lookup. */
+    static final int MAX_USER_COUNTS_BATCH = 100;
+
+    /**
+     * Most geo index hits passed to the database as an id list; Postgres allows at most 32767 bind
+     * parameters per statement. Wider searches filter by the radius's bounding box in SQL instead.
+     */
+    static final int MAX_NEARBY_IDS = 10_000;
+
+    /** Uploads of this type are stored as received when they cannot be normalized. */
+    private static final String PASS_THROUGH_CONTENT_TYPE = "image/webp";
+
+    /** How many ranked matches the legacy keyword search returns. */
+    private static final int KEYWORD_SEARCH_LIMIT = 50;
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final ReportRepository reportRepository;
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
+    private final PrincipalUserResolver principalUserResolver;
     private final ItemReportRepository itemReportRepository;
+    private final ItemReportCounter itemReportCounter;
+    private final ItemImageRepository itemImageRepository;
+    private final BlobStore blobStore;
+    private final ImageNormalizer imageNormalizer;
+    private final ImageVariantPipeline imageVariantPipeline;
     private final ProductMapper productMapper;
+    private final ItemGeoIndex itemGeoIndex;
+    private final ItemCounters itemCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final TtlCache<Long, UserItemCountsDto> userItemCountsCache;
+    private final CommentPageCache commentPageCache;
 
     @Override
+    @Transactional(readOnly = true)
     public ProductPage<ProductListItemDto> findAllProducts(int page, int size) {
         int safePage = Math.max(0, page);
         int safeSize = Math.max(1, size);
 
-        Page<Item> pageResult =
-                reportRepository.findAllByStatus(
-                        Status.ACTIVE,
-                        PageRequest.of(safePage, safeSize)
-                );
+        Page<ItemRow> pageResult = reportRepository.findRows(
+                ItemSpecifications.hasStatus(Status.ACTIVE),
+                PageRequest.of(safePage, safeSize, NEWEST_FIRST)
+        );
 
-        List<ProductListItemDto> items = productMapper.toListItemDtoList(pageResult.getContent());
+        List<ProductListItemDto> items = productMapper.rowsToListItemDtos(pageResult.getContent());
         return new ProductPage<>(
                 items,
                 safePage,
@@ -69,8 +127,26 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ProductPage<ProductListItemDto> findAllProductsAfter(String cursor, int size) {
+        ProductCursor position = ProductCursor.decode(cursor);
+        int safeSize = cursorPageSize(size);
+
+        Specification<Item> spec = ItemSpecifications.hasStatus(Status.ACTIVE);
+        if (position != null) {
+            spec = spec.and(ItemSpecifications.before(position.createdAt(), position.id()));
+        }
+        List<ItemRow> rows = reportRepository.findRows(spec, NEWEST_FIRST, safeSize + 1);
+
+        List<ItemRow> pageRows = rows.size() > safeSize ? rows.subList(0, safeSize) : rows;
+        String next = nextCursor(rows, safeSize, row -> new ProductCursor(row.createdAt(), row.id()));
+        return ProductPage.ofCursor(productMapper.rowsToListItemDtos(pageRows), safeSize, next);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ProductResponseDto getProductById(Long productId) {
-        Item item = reportRepository.findById(productId)
+        Item item = reportRepository.findWithDetailsById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found"));
         if (item.getStatus() != Status.ACTIVE) {
             throw new IllegalArgumentException("Product not found");
@@ -79,6 +155,34 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    public ProductImage getProductImage(Long productId, ImageVariant variant) {
+        Item item = reportRepository.findById(productId)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+        if (item.getStatus() != Status.ACTIVE) {
+            throw new IllegalArgumentException("Product not found");
+        }
+        if (item.getImageHash() == null) {
+            throw new IllegalArgumentException("Product has no image");
+        }
+        String hash = switch (variant == null ? ImageVariant.ORIGINAL : variant) {
+            case ORIGINAL -> item.getImageHash();
+            case SMALL -> item.getImageSmallHash();
+            case MEDIUM -> item.getImageMediumHash();
+        };
+        if (hash == null) {
+            // Images stored before variants existed get them lazily, the first time one is asked for.
+            imageVariantPipeline.submit(item.getId(), item.getImageHash());
+            hash = item.getImageHash();
+        }
+        String resolvedHash = hash;
+        StoredBlob blob = blobStore.find(resolvedHash)
+                .or(() -> copyLegacyImageToBlobStore(resolvedHash))
+                .orElseThrow(() -> new IllegalArgumentException("Product has no image"));
+        return new ProductImage(resolvedHash, ProductImage.detectContentType(blob.head(ProductImage.SNIFF_LENGTH)), blob);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<ProductResponseDto> searchProducts(String keyword) {
         if (keyword == null || keyword.isBlank()) {
             return productMapper.toDtoList(
@@ -95,63 +199,51 @@ public class ProductServiceImpl implements ProductService {
                     )
             );
         } catch (NumberFormatException e) {
-            return List.of();
+            Page<Long> ids = reportRepository.searchIdsByText(keyword.trim(), PageRequest.of(0, KEYWORD_SEARCH_LIMIT));
+            return productMapper.toDtoList(loadInOrder(ids.getContent()));
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ProductPage<ProductListItemDto> searchByText(String query, int page, int size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        int safePage = Math.max(0, page);
+        int safeSize = Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+
+        Page<Long> ids = reportRepository.searchIdsByText(query.trim(), PageRequest.of(safePage, safeSize));
+        List<ProductListItemDto> items = productMapper.rowsToListItemDtos(loadRowsInOrder(ids.getContent()));
+        return new ProductPage<>(
+                items,
+                safePage,
+                safeSize,
+                ids.getTotalElements(),
+                ids.getTotalPages(),
+                ids.hasNext()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public ProductPage<ProductResponseDto> searchByLocation(Double centerLat, Double centerLon, Double radiusKm,
                                                            String name, TypeOfReport type,
                                                            List<Long> categoryIds,
                                                            OffsetDateTime from, OffsetDateTime to,
                                                            int page, int size) {
-        boolean anyLocationProvided = centerLat != null || centerLon != null || radiusKm != null;
-        boolean allLocationProvided = centerLat != null && centerLon != null && radiusKm != null;
-        if (anyLocationProvided && !allLocationProvided) {
-            throw new IllegalArgumentException("lat, lon, and radiusKm must be provided together");
-        }
+        SearchFilters filters = resolveSearchFilters(centerLat, centerLon, radiusKm, name, categoryIds);
 
         int safePage = Math.max(0, page);
         int safeSize = Math.max(1, size);
 
-        java.math.BigDecimal minLat = null;
-        java.math.BigDecimal maxLat = null;
-        java.math.BigDecimal minLon = null;
-        java.math.BigDecimal maxLon = null;
-
-        if (allLocationProvided) {
-            if (radiusKm <= 0) {
-                throw new IllegalArgumentException("Radius must be greater than 0");
-            }
-            double latDelta = radiusKm / 111.0; // ~111 km per degree latitude
-            double lonDelta = radiusKm / (111.0 * Math.cos(Math.toRadians(centerLat)));
-
-            minLat = java.math.BigDecimal.valueOf(centerLat - latDelta);
-            maxLat = java.math.BigDecimal.valueOf(centerLat + latDelta);
-            minLon = java.math.BigDecimal.valueOf(centerLon - lonDelta);
-            maxLon = java.math.BigDecimal.valueOf(centerLon + lonDelta);
+        if (filters.matchesNothing()) {
+            return new ProductPage<>(List.of(), safePage, safeSize, 0, 0, false);
         }
 
-        String safeName = (name == null || name.isBlank())
-                ? null
-                : "%" + name.trim().toLowerCase() + "%";
-
-        List<Long> safeCategoryIds = null;
-        if (categoryIds != null) {
-            safeCategoryIds = categoryIds.stream()
-                    .filter(Objects::nonNull)
-                    .distinct()
-                    .toList();
-            if (safeCategoryIds.isEmpty()) {
-                safeCategoryIds = null;
-            }
-        }
-
-        Page<Item> pageResult = reportRepository.searchByLocationAndFilters(
-                minLat, maxLat, minLon, maxLon, safeName, type,
-                Status.ACTIVE,
-                safeCategoryIds, from, to,
-                PageRequest.of(safePage, safeSize)
+        Page<Item> pageResult = reportRepository.findAll(
+                searchSpecification(filters, type, from, to),
+                PageRequest.of(safePage, safeSize, NEWEST_FIRST)
         );
         List<ProductResponseDto> items = productMapper.toDtoList(pageResult.getContent());
         return new ProductPage<>(
@@ -165,72 +257,90 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    public ItemCountsDto getItemCounts(ZoneId zoneId) {
-        ZonedDateTime now = ZonedDateTime.now(zoneId);
-        ZonedDateTime startOfDay = now.toLocalDate().atStartOfDay(zoneId);
-        ZonedDateTime endOfDay = startOfDay.plusDays(1).minusNanos(1);
-
-        OffsetDateTime start = startOfDay.toOffsetDateTime();
-        OffsetDateTime end = endOfDay.toOffsetDateTime();
+    @Transactional(readOnly = true)
+    public ProductPage<ProductResponseDto> searchByLocationAfter(Double centerLat, Double centerLon, Double radiusKm,
+                                                                String name, TypeOfReport type,
+                                                                List<Long> categoryIds,
+                                                                OffsetDateTime from, OffsetDateTime to,
+                                                                String cursor, int size) {
+        SearchFilters filters = resolveSearchFilters(centerLat, centerLon, radiusKm, name, categoryIds);
+        ProductCursor position = ProductCursor.decode(cursor);
+        int safeSize = cursorPageSize(size);
+
+        if (filters.matchesNothing()) {
+            return ProductPage.ofCursor(List.of(), safeSize, null);
+        }
 
-        long todayReported = reportRepository.countByCreatedAtBetween(start, end);
-        long allReported = reportRepository.count();
-        long returned = reportRepository.countByStatus(Status.DELIVERED);
+        Specification<Item> spec = searchSpecification(filters, type, from, to);
+        if (position != null) {
+            spec = spec.and(ItemSpecifications.before(position.createdAt(), position.id()));
+        }
+        List<Item> rows = reportRepository.findBy(spec, query -> query
+                .project("reporter", "category")
+                .sortBy(NEWEST_FIRST)
+                .limit(safeSize + 1)
+                .all());
+        List<Item> pageItems = rows.size() > safeSize ? rows.subList(0, safeSize) : rows;
+        return ProductPage.ofCursor(productMapper.toDtoList(pageItems), safeSize,
+                nextCursor(rows, safeSize, item -> new ProductCursor(item.getCreatedAt(), item.getId())));
+    }
 
-        return ItemCountsDto.builder()
-                .todayReported(todayReported)
-                .allReported(allReported)
-                .returned(returned)
-                .build();
+    @Override
+    public ItemCountsDto getItemCounts() {
+        return itemCounters.snapshot();
     }
 
     @Override
     public UserItemCountsDto getUserItemCounts(JwtPrincipal principal) {
         validatePrincipal(principal);
 
-        User reporter = resolveReporterFromPrincipal(principal);
-        Long reporterId = reporter.getId();
-        if (reporterId == null) {
-            throw new IllegalStateException("Reporter id is missing");
-        }
-
-        long foundReported = reportRepository.countByReporter_IdAndType(
-                reporterId,
-                TypeOfReport.FOUND
-        );
-        long lostReported = reportRepository.countByReporter_IdAndType(
-                reporterId,
-                TypeOfReport.LOST
-        );
-
-        return UserItemCountsDto.builder()
-                .foundReported(foundReported)
-                .lostReported(lostReported)
-                .build();
+        // A caller without a user row has not reported anything yet; no need to create one here.
+        return principalUserResolver.findUserId(principal.email())
+                .map(this::getUserItemCounts)
+                .orElseGet(() -> UserItemCountsDto.builder().build());
     }
 
     @Override
     public UserItemCountsDto getUserItemCounts(Long userId) {
         if (userId == null) {
-            throw new IllegalStateException("Reporter id is missing");
+            throw new IllegalArgumentException("User id is required");
         }
+        return getUsersItemCounts(List.of(userId)).get(0);
+    }
 
-        long foundReported = reportRepository.countByReporter_IdAndType(
-                userId,
-                TypeOfReport.FOUND
-        );
-        long lostReported = reportRepository.countByReporter_IdAndType(
-                userId,
-                TypeOfReport.LOST
-        );
+    @Override
+    public List<UserItemCountsDto> getUsersItemCounts(List<Long> userIds) {
+        List<Long> ids = userIds == null ? List.of() : userIds.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("At least one user id is required");
+        }
+        if (ids.size() > MAX_USER_COUNTS_BATCH) {
+            throw new IllegalArgumentException("At most " + MAX_USER_COUNTS_BATCH + " user ids are allowed");
+        }
 
-        return UserItemCountsDto.builder()
-                .foundReported(foundReported)
-                .lostReported(lostReported)
-                .build();
+        Map<Long, UserItemCountsDto> byId = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            UserItemCountsDto cached = userItemCountsCache.get(id);
+            if (cached != null) {
+                byId.put(id, cached);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            Map<Long, UserItemCountsDto> loaded = countItemsByReporter(missing);
+            loaded.forEach(userItemCountsCache::put);
+            byId.putAll(loaded);
+        }
+        return ids.stream().map(byId::get).toList();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAll().stream()
                 .sorted(Comparator.comparing(Category::getId, Comparator.nullsLast(Long::compareTo)))
@@ -244,6 +354,11 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public ProductResponseDto addProduct(ProductRequestDto request, JwtPrincipal principal) {
+        return addProduct(request, null, principal);
+    }
+
+    @Override
+    public ProductResponseDto addProduct(ProductRequestDto request, InputStreamSource image, JwtPrincipal principal) {
         if (request == null) {
             throw new IllegalArgumentException("Request cannot be null");
         }
@@ -266,31 +381,38 @@ public class ProductServiceImpl implements ProductService {
             throw new IllegalArgumentException("Category is required");
         }
 
-        User reporter = resolveReporterFromPrincipal(principal);
-
-        Category category = resolveCategory(request);
-
-        Item item = Item.builder()
-                .name(request.getName())
-                .description(request.getDescription() != null ? request.getDescription() : request.getNotes())
-                .type(request.getType())
-                .status(request.getStatus())
-                .latitude(request.getLatitude())
-                .longitude(request.getLongitude())
-                .image(parseImageBase64(request.getImage()))
-                .category(category)
-                .reporter(reporter)
-                .build();
-        item = reportRepository.save(item);
-
-        return productMapper.toDto(item);
+        // Decoding and re-encoding the image happens before the transaction so it never holds a connection.
+        String imageHash = image != null ? storeImage(image) : storeImage(parseImageBase64(request.getImage()));
+
+        // Mapped inside the transaction: a cached reporter is an unloaded reference until read.
+        return discardImageOnFailure(imageHash, () -> transactionTemplate.execute(status -> {
+            User reporter = principalUserResolver.resolve(principal);
+            Category category = resolveCategory(request);
+            Item saved = reportRepository.save(Item.builder()
+                    .name(request.getName())
+                    .description(request.getDescription() != null ? request.getDescription() : request.getNotes())
+                    .type(request.getType())
+                    .status(request.getStatus())
+                    .latitude(request.getLatitude())
+                    .longitude(request.getLongitude())
+                    .imageHash(imageHash)
+                    .category(category)
+                    .reporter(reporter)
+                    .build());
+            itemGeoIndex.sync(saved);
+            itemCounters.onCreated(saved);
+            invalidateOwnerCounts(reporter.getId());
+            imageVariantPipeline.submit(saved.getId(), saved.getImageHash());
+            return productMapper.toDto(saved);
+        }));
     }
 
     @Override
+    @Transactional
     public ProductResponseDto deleteProduct(Long productId, JwtPrincipal principal) {
         validatePrincipal(principal);
 
-        Optional<Item> report = reportRepository.findById(productId);
+        Optional<Item> report = reportRepository.findWithDetailsById(productId);
         if (report.isEmpty()) {
             throw new IllegalArgumentException("Product not found");
         }
@@ -301,87 +423,260 @@ public class ProductServiceImpl implements ProductService {
         }
 
         reportRepository.delete(foundItem);
+        itemGeoIndex.remove(foundItem.getId());
+        itemCounters.onDeleted(foundItem);
+        invalidateOwnerCounts(foundItem.getReporter().getId());
+        commentPageCache.invalidate(foundItem.getId());
         return productMapper.toDto(foundItem);
     }
 
     @Override
     public ProductResponseDto updateProduct(Long productId, ProductRequestDto request, JwtPrincipal principal) {
-        validatePrincipal(principal);
+        return updateProduct(productId, request, null, principal);
+    }
 
-        Optional<Item> report = reportRepository.findById(productId);
+    @Override
+    public ProductResponseDto updateProduct(Long productId, ProductRequestDto request, InputStreamSource image,
+                                            JwtPrincipal principal) {
+        validatePrincipal(principal);
 
-        if (report.isEmpty()) {
-            throw new IllegalArgumentException("Product not found");
+        // As in addProduct, the image is processed before the transaction starts, but only for the
+        // owner: nobody else gets to write into the blob store. The check in the transaction still decides.
+        boolean replaceImage = image != null || (request != null && request.getImage() != null);
+        if (replaceImage) {
+            Long ownerId = reportRepository.findReporterIdById(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
+            if (!principalUserResolver.findUserId(principal.email()).map(ownerId::equals).orElse(false)) {
+                throw new SecurityException("You are not authorized to update this product");
+            }
         }
-        Item foundItem = report.get();
+        String imageHash = !replaceImage ? null
+                : image != null ? storeImage(image) : storeImage(parseImageBase64(request.getImage()));
 
-        if (!foundItem.getReporter().getEmail().equals(principal.email())) {
-            throw new SecurityException("You are not authorized to update this product");
-        }
+        Item updated = discardImageOnFailure(imageHash, () -> transactionTemplate.execute(status -> {
+            Item foundItem = reportRepository.findWithDetailsById(productId)
+                    .orElseThrow(() -> new IllegalArgumentException("Product not found"));
 
-        if (request != null) {
-            if (request.getName() != null) {
-                foundItem.setName(request.getName());
+            if (!foundItem.getReporter().getEmail().equals(principal.email())) {
+                throw new SecurityException("You are not authorized to update this product");
             }
-            if (request.getDescription() != null) {
-                foundItem.setDescription(request.getDescription());
-            } else if (request.getNotes() != null) {
-                foundItem.setDescription(request.getNotes());
+            Status previousStatus = foundItem.getStatus();
+
+            if (request != null) {
+                if (request.getName() != null) {
+                    foundItem.setName(request.getName());
+                }
+                if (request.getDescription() != null) {
+                    foundItem.setDescription(request.getDescription());
+                } else if (request.getNotes() != null) {
+                    foundItem.setDescription(request.getNotes());
+                }
+                if (request.getType() != null) {
+                    foundItem.setType(request.getType());
+                }
+                if (request.getStatus() != null) {
+                    foundItem.setStatus(request.getStatus());
+                }
+                if (request.getLatitude() != null) {
+                    foundItem.setLatitude(request.getLatitude());
+                }
+                if (request.getLongitude() != null) {
+                    foundItem.setLongitude(request.getLongitude());
+                }
+                if (request.getCategoryId() != null
+                        || (request.getCategoryName() != null && !request.getCategoryName().isBlank())) {
+                    Category category = resolveCategory(request);
+                    foundItem.setCategory(category);
+                }
             }
-            if (request.getType() != null) {
-                foundItem.setType(request.getType());
+
+            boolean imageChanged = replaceImage && !Objects.equals(imageHash, foundItem.getImageHash());
+            if (imageChanged) {
+                foundItem.setImageHash(imageHash);
+                foundItem.setImageSmallHash(null);
+                foundItem.setImageMediumHash(null);
             }
-            if (request.getStatus() != null) {
-                foundItem.setStatus(request.getStatus());
+
+            foundItem = reportRepository.save(foundItem);
+            itemGeoIndex.sync(foundItem);
+            itemCounters.onStatusChanged(previousStatus, foundItem.getStatus());
+            invalidateOwnerCounts(foundItem.getReporter().getId());
+            if (imageChanged) {
+                // Registered as an after-commit callback, so the worker sees the new hash.
+                imageVariantPipeline.submit(foundItem.getId(), foundItem.getImageHash());
             }
-            if (request.getLatitude() != null) {
-                foundItem.setLatitude(request.getLatitude());
+            return foundItem;
+        }));
+        return productMapper.toDto(updated);
+    }
+
+    @Override
+    @Transactional
+    public void reportItem(Long itemId, JwtPrincipal principal) {
+        validatePrincipal(principal);
+        User reporter = principalUserResolver.resolve(principal);
+
+        int inserted = itemReportRepository.insertIfAbsent(itemId, reporter.getId(),
+                "reported", // placeholder until a request body is added
+                OffsetDateTime.now());
+        if (inserted == 0) {
+            if (!reportRepository.existsById(itemId)) {
+                throw new IllegalArgumentException("Item not found");
             }
-            if (request.getLongitude() != null) {
-                foundItem.setLongitude(request.getLongitude());
+            throw new IllegalArgumentException("You have already reported this item");
+        }
+        // The moderation case for a flagged item is opened later, by ModerationWorker.
+        itemReportCounter.countReport(itemId);
+    }
+
+    private SearchFilters resolveSearchFilters(Double centerLat, Double centerLon, Double radiusKm,
+                                               String name, List<Long> categoryIds) {
+        boolean anyLocationProvided = centerLat != null || centerLon != null || radiusKm != null;
+        boolean allLocationProvided = centerLat != null && centerLon != null && radiusKm != null;
+        if (anyLocationProvided && !allLocationProvided) {
+            throw new IllegalArgumentException("lat, lon, and radiusKm must be provided together");
+        }
+
+        List<Long> nearbyIds = null;
+        Specification<Item> boundingBox = null;
+        if (allLocationProvided) {
+            if (radiusKm <= 0) {
+                throw new IllegalArgumentException("Radius must be greater than 0");
             }
-            if (request.getImage() != null) {
-                foundItem.setImage(parseImageBase64(request.getImage()));
+            nearbyIds = itemGeoIndex.findWithinRadius(centerLat, centerLon, radiusKm);
+            if (nearbyIds.size() > MAX_NEARBY_IDS) {
+                nearbyIds = null;
+                boundingBox = boundingBox(centerLat, centerLon, radiusKm);
             }
-            if (request.getCategoryId() != null
-                    || (request.getCategoryName() != null && !request.getCategoryName().isBlank())) {
-                Category category = resolveCategory(request);
-                foundItem.setCategory(category);
+        }
+
+        String safeName = (name == null || name.isBlank())
+                ? null
+                : "%" + name.trim().toLowerCase() + "%";
+
+        List<Long> safeCategoryIds = null;
+        if (categoryIds != null) {
+            safeCategoryIds = categoryIds.stream()
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+            if (safeCategoryIds.isEmpty()) {
+                safeCategoryIds = null;
             }
         }
+        return new SearchFilters(nearbyIds, boundingBox, safeName, safeCategoryIds);
+    }
 
-        
-        foundItem = reportRepository.save(foundItem);
-        return productMapper.toDto(foundItem);
+    /** The square around the circle; only used when the circle holds too many items to list by id. */
+    private static Specification<Item> boundingBox(double centerLat, double centerLon, double radiusKm) {
+        double latDelta = radiusKm / 111.0; // ~111 km per degree latitude
+        double lonDelta = radiusKm / (111.0 * Math.max(Math.cos(Math.toRadians(centerLat)), 0.01));
+        return ItemSpecifications.withinBox(
+                BigDecimal.valueOf(centerLat - latDelta), BigDecimal.valueOf(centerLat + latDelta),
+                BigDecimal.valueOf(centerLon - lonDelta), BigDecimal.valueOf(centerLon + lonDelta));
     }
 
-    @Override
-    @Transactional
-    public void reportItem(Long itemId, JwtPrincipal principal) {
-        validatePrincipal(principal);
-        Item item = reportRepository.findById(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("Item not found"));
+    /** Only the filters that are present become predicates, so the planner can pick a matching index. */
+    private static Specification<Item> searchSpecification(SearchFilters filters, TypeOfReport type,
+                                                           OffsetDateTime from, OffsetDateTime to) {
+        Specification<Item> spec = ItemSpecifications.hasStatus(Status.ACTIVE);
+        if (filters.ids() != null) {
+            spec = spec.and(ItemSpecifications.idIn(filters.ids()));
+        }
+        if (filters.boundingBox() != null) {
+            spec = spec.and(filters.boundingBox());
+        }
+        if (filters.name() != null) {
+            spec = spec.and(ItemSpecifications.nameLike(filters.name()));
+        }
+        if (type != null) {
+            spec = spec.and(ItemSpecifications.hasType(type));
+        }
+        if (filters.categoryIds() != null) {
+            spec = spec.and(ItemSpecifications.inCategories(filters.categoryIds()));
+        }
+        if (from != null) {
+            spec = spec.and(ItemSpecifications.createdAtFrom(from));
+        }
+        if (to != null) {
+            spec = spec.and(ItemSpecifications.createdAtTo(to));
+        }
+        return spec;
+    }
 
-        User reporter = resolveReporterFromPrincipal(principal);
-        if (itemReportRepository.existsByItemIdAndReporterId(itemId, reporter.getId())) {
-            throw new IllegalArgumentException("You have already reported this item");
+    /** Loads items by id and keeps the order of {@code ids}, e.g. relevance order from the text index. */
+    private List<Item> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> byId = new HashMap<>();
+        for (Item item : reportRepository.findWithDetailsByIdIn(ids)) {
+            byId.put(item.getId(), item);
+        }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** Rows for the given ids in one projection query, returned in the order of {@code ids}. */
+    private List<ItemRow> loadRowsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ItemRow> byId = new HashMap<>();
+        for (ItemRow row : reportRepository.findRows(ItemSpecifications.idIn(ids), Sort.unsorted(), ids.size())) {
+            byId.put(row.id(), row);
         }
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /** Drops the owner's cached statistics once the write commits, so no reader re-caches the old counts. */
+    private void invalidateOwnerCounts(Long reporterId) {
+        AfterCommit.run(() -> userItemCountsCache.invalidate(reporterId));
+    }
+
+    private static int cursorPageSize(int size) {
+        return Math.min(Math.max(1, size), MAX_PAGE_SIZE);
+    }
 
-        ItemReport report = ItemReport.builder()
-                .item(item)
-                .reporter(reporter)
-                .cause("reported") // placeholder until a request body is added
-                .createdAt(OffsetDateTime.now())
-                .build();
-        itemReportRepository.save(report);
+    /**
+     * Rows were fetched with one extra element; its presence means there is a next page, which
+     * starts after the last row of this one. Shared by every keyset page so the cursors cannot drift.
+     */
+    private static <T> String nextCursor(List<T> rows, int pageSize, Function<T, ProductCursor> position) {
+        if (rows.size() <= pageSize) {
+            return null;
+        }
+        return position.apply(rows.get(pageSize - 1)).encode();
+    }
 
-        long reportCount = itemReportRepository.countByItemId(itemId);
-        item.setReportedCounts((int) reportCount);
-        if (reportCount >= 3) {
-            item.setStatus(Status.REPORTED);
+    /** Found/lost/active/delivered totals for each reporter from one grouped query; zeros for users without items. */
+    private Map<Long, UserItemCountsDto> countItemsByReporter(List<Long> reporterIds) {
+        Map<Long, UserItemCountsDto> counts = new HashMap<>();
+        for (Long id : reporterIds) {
+            counts.put(id, UserItemCountsDto.builder().userId(id).build());
+        }
+        for (ReportRepository.ReporterItemCount row : reportRepository.countByReporters(reporterIds)) {
+            UserItemCountsDto dto = counts.get(row.getReporterId());
+            if (dto == null) {
+                continue;
+            }
+            if (row.getType() == TypeOfReport.FOUND) {
+                dto.setFoundReported(dto.getFoundReported() + row.getTotal());
+            } else if (row.getType() == TypeOfReport.LOST) {
+                dto.setLostReported(dto.getLostReported() + row.getTotal());
+            }
+            if (row.getStatus() == Status.ACTIVE) {
+                dto.setActive(dto.getActive() + row.getTotal());
+            } else if (row.getStatus() == Status.DELIVERED) {
+                dto.setDelivered(dto.getDelivered() + row.getTotal());
+            }
         }
-        item.setUpdatedAt(OffsetDateTime.now());
-        reportRepository.save(item);
+        return counts;
     }
 
     private void validatePrincipal(JwtPrincipal principal) {
@@ -393,26 +688,6 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
-    private User resolveReporterFromPrincipal(JwtPrincipal principal) {
-        return userRepository.findByEmail(principal.email())
-                .orElseGet(() -> {
-                    String fullName = principal.name() != null && !principal.name().isBlank()
-                            ? principal.name()
-                            : principal.email().split("@")[0];
-
-                    User newUser = User.builder()
-                            .fullName(fullName)
-                            .email(principal.email())
-                            .password(UUID.randomUUID().toString())
-                            .registrationDate(OffsetDateTime.now())
-                            .lastSeen(OffsetDateTime.now())
-                            .isVerified(true)
-                            .isSuperuser(false)
-                            .build();
-                    return userRepository.save(newUser);
-                });
-    }
-
     private Category resolveCategory(ProductRequestDto request) {
         if (request.getCategoryId() != null) {
             return categoryRepository.findById(request.getCategoryId())
@@ -434,6 +709,63 @@ public class ProductServiceImpl implements ProductService {
         }
     }
 
+    private String storeImage(byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        return storeImage(new ByteArrayResource(data));
+    }
+
+    /**
+     * Normalizes the image (upright, capped size, no metadata) and stores the result under its
+     * SHA-256. The only upload kept as received is WebP, which ImageIO cannot decode; anything else
+     * that does not decode is rejected.
+     */
+    private String storeImage(InputStreamSource image) {
+        Optional<byte[]> normalized = imageNormalizer.normalize(image);
+        if (normalized.isPresent()) {
+            return blobStore.put(normalized.get());
+        }
+        try (InputStream content = image.getInputStream()) {
+            byte[] header = content.readNBytes(ProductImage.SNIFF_LENGTH);
+            if (!PASS_THROUGH_CONTENT_TYPE.equals(ProductImage.detectContentType(header))) {
+                throw new IllegalArgumentException("Unsupported image format");
+            }
+            return blobStore.put(new SequenceInputStream(new ByteArrayInputStream(header), content));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Could not read uploaded image");
+        }
+    }
+
+    /**
+     * Runs the write that records {@code imageHash}; if it fails, the freshly stored blob is
+     * deleted again unless a committed item already points at the same bytes.
+     */
+    private <T> T discardImageOnFailure(String imageHash, Supplier<T> write) {
+        try {
+            return write.get();
+        } catch (RuntimeException e) {
+            try {
+                if (imageHash != null && !reportRepository.isImageReferenced(imageHash)) {
+                    blobStore.delete(imageHash);
+                }
+            } catch (RuntimeException cleanup) {
+                e.addSuppressed(cleanup);
+            }
+            throw e;
+        }
+    }
+
+    /** Images written before the blob store existed still sit in {@code item_image}; move them over on first read. */
+    private Optional<StoredBlob> copyLegacyImageToBlobStore(String hash) {
+        return itemImageRepository.findById(hash)
+                .map(ItemImage::getData)
+                // Legacy rows predate upload validation; anything that is not an image stays out of the store.
+                .filter(ProductImage::isImage)
+                .map(blobStore::put)
+                .flatMap(blobStore::find);
+    }
+
     private byte[] parseImageBase64(String image) {
         if (image == null || image.isBlank()) {
             return null;
@@ -445,4 +777,13 @@ public class ProductServiceImpl implements ProductService {
         }
         return Base64.getDecoder().decode(trimmed);
     }
+
+    /** Normalized search filters; {@code ids} is null when no location was given. */
+    private record SearchFilters(List<Long> ids, Specification<Item> boundingBox, String name,
+                                 List<Long> categoryIds) {
+
+        boolean matchesNothing() {
+            return ids != null && ids.isEmpty();
+        }
+    }
 }
@@ -5,10 +5,12 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.nexus.nexus.Dto.UserRegisterDto;
 import com.nexus.nexus.Entity.User;
 import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Service.PrincipalUserResolver;
 import com.nexus.nexus.Service.UserService;
 
 import lombok.RequiredArgsConstructor;
@@ -18,8 +20,10 @@ import lombok.RequiredArgsConstructor;
 public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
+    private final PrincipalUserResolver principalUserResolver;
 
     @Override
+    @Transactional
     public void registerUser(UserRegisterDto dto){
         if (dto == null) {
             throw new IllegalArgumentException("Request body is required");
@@ -56,6 +60,7 @@ public class UserServiceImpl implements UserService{
     }
 
     @Override
+    @Transactional
     public void updateUser(UserRegisterDto dto) {
         if (dto == null) {
             throw new IllegalArgumentException("Request body is required");
@@ -67,6 +72,7 @@ public class UserServiceImpl implements UserService{
         User user = userRepository.findById(dto.getId())
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
+        String previousEmail = user.getEmail();
         if (dto.getEmail() != null && !dto.getEmail().isBlank()
                 && !dto.getEmail().equalsIgnoreCase(user.getEmail())) {
             if (userRepository.findByEmail(dto.getEmail()).isPresent()) {
@@ -90,6 +96,9 @@ public class UserServiceImpl implements UserService{
         user.setIsVerified(dto.isVerified());
 
         userRepository.save(user);
+        // Both take effect after commit.
+        principalUserResolver.evict(previousEmail);
+        principalUserResolver.evict(user.getEmail());
     }
 
 }
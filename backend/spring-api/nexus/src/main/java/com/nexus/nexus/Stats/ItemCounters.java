@@ -0,0 +1,165 @@
+package com.nexus.nexus.Stats;
+
+import com.nexus.nexus.Dto.ItemCountsDto;
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Transaction.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory totals behind {@code GET /api/items/counts}.
+ * <p>
+ * Item writes adjust the counters once their transaction commits, so reads never touch the
+ * database. "Today" is the calendar day in {@code items.counters.zone}; the day counter is
+ * swapped for a fresh one at local midnight. A periodic reconciliation re-reads the three
+ * aggregates from the database to correct any drift, e.g. from rows changed outside the app.
+ */
+@Component
+public class ItemCounters {
+    private static final Logger log = LoggerFactory.getLogger(ItemCounters.class);
+
+    private final ReportRepository reportRepository;
+    private final Clock clock;
+
+    private final LongAdder allReported = new LongAdder();
+    private final LongAdder returned = new LongAdder();
+    private final AtomicReference<Day> today;
+
+    private volatile boolean ready;
+
+    @Autowired
+    public ItemCounters(ReportRepository reportRepository,
+                        @Value("${items.counters.zone:Asia/Tehran}") String zone) {
+        this(reportRepository, Clock.system(ZoneId.of(zone)));
+    }
+
+    ItemCounters(ReportRepository reportRepository, Clock clock) {
+        this.reportRepository = reportRepository;
+        this.clock = clock;
+        this.today = new AtomicReference<>(new Day(LocalDate.now(clock)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            reconcile();
+        } catch (DataAccessException e) {
+            log.warn("Item counters could not be loaded at startup, will retry on first read: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Brings the in-memory totals to fresh aggregates from the database. The counters are read
+     * before the queries and only the difference is applied, so adjustments from transactions
+     * that commit while the queries run are kept instead of being overwritten.
+     */
+    @Scheduled(fixedDelayString = "${items.counters.reconcile-interval:PT10M}",
+            initialDelayString = "${items.counters.reconcile-interval:PT10M}")
+    public synchronized void reconcile() {
+        Day day = currentDay();
+        long todayBefore = day.count.sum();
+        long allBefore = allReported.sum();
+        long returnedBefore = returned.sum();
+
+        ZonedDateTime startOfDay = day.date.atStartOfDay(clock.getZone());
+        long todayCount = reportRepository.countByCreatedAtBetween(
+                startOfDay.toOffsetDateTime(),
+                startOfDay.plusDays(1).minusNanos(1).toOffsetDateTime());
+        long allCount = reportRepository.count();
+        long returnedCount = reportRepository.countByStatus(Status.DELIVERED);
+
+        // Adding the difference instead of reset() also means readers never observe a zero in between.
+        allReported.add(allCount - allBefore);
+        returned.add(returnedCount - returnedBefore);
+        // If midnight passed meanwhile this corrects a day nobody reads any more, which is harmless.
+        day.count.add(todayCount - todayBefore);
+        ready = true;
+    }
+
+    /** Starts a new "today" at local midnight; reads and writes also roll over lazily. */
+    @Scheduled(cron = "0 0 0 * * *", zone = "${items.counters.zone:Asia/Tehran}")
+    public void rollover() {
+        currentDay();
+    }
+
+    public ItemCountsDto snapshot() {
+        if (!ready) {
+            reconcile();
+        }
+        return ItemCountsDto.builder()
+                .todayReported(currentDay().count.sum())
+                .allReported(allReported.sum())
+                .returned(returned.sum())
+                .build();
+    }
+
+    public void onCreated(Item item) {
+        Status status = item.getStatus();
+        OffsetDateTime createdAt = item.getCreatedAt();
+        AfterCommit.run(() -> adjust(createdAt, status, 1));
+    }
+
+    public void onDeleted(Item item) {
+        Status status = item.getStatus();
+        OffsetDateTime createdAt = item.getCreatedAt();
+        AfterCommit.run(() -> adjust(createdAt, status, -1));
+    }
+
+    public void onStatusChanged(Status previous, Status current) {
+        boolean wasReturned = previous == Status.DELIVERED;
+        boolean isReturned = current == Status.DELIVERED;
+        if (wasReturned != isReturned) {
+            AfterCommit.run(() -> returned.add(isReturned ? 1 : -1));
+        }
+    }
+
+    private void adjust(OffsetDateTime createdAt, Status status, int delta) {
+        allReported.add(delta);
+        if (status == Status.DELIVERED) {
+            returned.add(delta);
+        }
+        Day day = currentDay();
+        if (createdAt != null && createdAt.atZoneSameInstant(clock.getZone()).toLocalDate().equals(day.date)) {
+            day.count.add(delta);
+        }
+    }
+
+    private Day currentDay() {
+        LocalDate date = LocalDate.now(clock);
+        Day day = today.get();
+        while (day.date.isBefore(date)) {
+            Day fresh = new Day(date);
+            if (today.compareAndSet(day, fresh)) {
+                return fresh;
+            }
+            day = today.get();
+        }
+        return day;
+    }
+
+    private static final class Day {
+        private final LocalDate date;
+        private final LongAdder count = new LongAdder();
+
+        private Day(LocalDate date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.nexus.nexus.Storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+/**
+ * Writes a {@link StoredBlob} straight to the servlet response, honouring a single byte range.
+ * <p>
+ * On Tomcat's NIO connector the file is handed to the container via the sendfile request
+ * attributes, so the bytes go from page cache to socket without entering the JVM. Elsewhere
+ * it falls back to {@link StoredBlob#transferTo} on the response output stream.
+ */
+public final class BlobResponseWriter {
+
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private BlobResponseWriter() {
+    }
+
+    /** Caller sets caching and validator headers first; this sets status, length and range headers. */
+    public static void write(StoredBlob blob, String contentType,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long size = blob.size();
+        long start = 0;
+        long end = size - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType);
+        // The type was sniffed on the server; the browser must not second-guess it.
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && size > 0) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                // Multiple ranges are legal to ignore; the full body is a valid answer.
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(size);
+                    end = ranges.get(0).getRangeEnd(size);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, blob.file().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        blob.transferTo(start, count, Channels.newChannel(response.getOutputStream()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.nexus.nexus.Storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for binary payloads such as item images.
+ * Blobs are keyed by the lower-case hex SHA-256 of their bytes, so storing the same bytes
+ * twice yields the same key and a single copy.
+ */
+public interface BlobStore {
+
+    /** Streams the content into the store and returns its SHA-256 key. */
+    String put(InputStream content);
+
+    default String put(byte[] content) {
+        return put(new ByteArrayInputStream(content));
+    }
+
+    Optional<StoredBlob> find(String hash);
+
+    /** Removes the blob; unknown hashes are ignored. Callers make sure nothing references it. */
+    void delete(String hash);
+
+    default boolean contains(String hash) {
+        return find(hash).isPresent();
+    }
+}
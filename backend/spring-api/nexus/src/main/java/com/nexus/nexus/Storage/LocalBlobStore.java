@@ -0,0 +1,115 @@
+package com.nexus.nexus.Storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link BlobStore} on the local file system under {@code storage.blob-dir}.
+ * <p>
+ * A blob with hash {@code abcdef...} lives at {@code ab/cd/abcdef...}. Writes go to a temp file
+ * first and are moved into place once hashed, so readers never observe a partial file and
+ * concurrent uploads of the same bytes simply race to the same name.
+ */
+@Component
+public class LocalBlobStore implements BlobStore {
+
+    private static final Pattern SHA256_HEX = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${storage.blob-dir:./data/blobs}") String root) {
+        this.root = Path.of(root).toAbsolutePath().normalize();
+    }
+
+    @Override
+    public String put(InputStream content) {
+        try {
+            Path tmpDir = Files.createDirectories(root.resolve("tmp"));
+            Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+            try {
+                MessageDigest digest = sha256();
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tmp), digest)) {
+                    content.transferTo(out);
+                }
+                String hash = HexFormat.of().formatHex(digest.digest());
+                Path target = pathFor(hash);
+                if (!Files.exists(target)) {
+                    Files.createDirectories(target.getParent());
+                    moveIntoPlace(tmp, target);
+                }
+                return hash;
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob", e);
+        }
+    }
+
+    @Override
+    public Optional<StoredBlob> find(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path file = pathFor(hash);
+        try {
+            return Optional.of(new StoredBlob(hash, file, Files.size(file)));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void delete(String hash) {
+        if (hash == null || !SHA256_HEX.matcher(hash).matches()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(pathFor(hash));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete blob", e);
+        }
+    }
+
+    private Path pathFor(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Same bytes were stored concurrently; the existing file is identical.
+        } catch (AtomicMoveNotSupportedException e) {
+            try {
+                Files.move(tmp, target);
+            } catch (FileAlreadyExistsException ignore) {
+                // see above
+            }
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.nexus.nexus.Storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/** A blob that lives in a file on local disk, which is what allows it to be sent without heap copies. */
+public record StoredBlob(String hash, Path file, long size) {
+
+    /** Reads up to {@code length} leading bytes, e.g. for content-type sniffing. */
+    public byte[] head(int length) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, size));
+            while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                // keep reading until the buffer is full or the file ends
+            }
+            return Arrays.copyOf(buffer.array(), buffer.position());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read blob " + hash, e);
+        }
+    }
+
+    /**
+     * Copies {@code count} bytes starting at {@code position} with {@link FileChannel#transferTo},
+     * which lets the kernel move the data without staging it in the Java heap.
+     */
+    public void transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long offset = position;
+            long remaining = count;
+            while (remaining > 0) {
+                long written = channel.transferTo(offset, remaining, target);
+                if (written <= 0) {
+                    break;
+                }
+                offset += written;
+                remaining -= written;
+            }
+        }
+    }
+}
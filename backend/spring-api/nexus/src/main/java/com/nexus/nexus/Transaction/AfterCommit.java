@@ -0,0 +1,28 @@
+package com.nexus.nexus.Transaction;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Runs side effects on shared in-memory state (caches, indexes, counters) only once the
+ * surrounding transaction has committed, so a rollback never leaves them pointing at rows that
+ * do not exist. Without a transaction the action runs immediately.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+-- Composite indexes matching the predicates ProductServiceImpl builds for the feed and for
+-- location/filter searches, so filtered searches become index range scans ordered by recency.
+CREATE INDEX IF NOT EXISTS idx_items_item_status_created_at
+    ON auth.items_item (status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_item_status_type_created_at
+    ON auth.items_item (status, type, created_at DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_item_category_status_created_at
+    ON auth.items_item (category_id, status, created_at DESC);
+
+-- Public listings only ever read active items; keep that hot path in a small partial index.
+CREATE INDEX IF NOT EXISTS idx_items_item_active_created_at
+    ON auth.items_item (created_at DESC, id DESC)
+    WHERE status = 'active';
@@ -0,0 +1,12 @@
+-- Full-text search over item name and description. The 'simple' configuration does no
+-- stemming, which keeps Persian and English tokens searchable alike; name hits rank above
+-- description hits through the A/B weights.
+ALTER TABLE auth.items_item
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+            || setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_item_search_vector
+    ON auth.items_item USING GIN (search_vector);
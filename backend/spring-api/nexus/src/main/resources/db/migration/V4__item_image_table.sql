@@ -0,0 +1,26 @@
+-- Move image bytes out of items_item so list queries, existence checks and the report flow
+-- no longer drag a bytea blob along with every row. Images are keyed by the SHA-256 of their
+-- bytes, which deduplicates identical uploads and doubles as the HTTP ETag.
+CREATE TABLE IF NOT EXISTS auth.item_image (
+    hash VARCHAR(64) PRIMARY KEY,
+    data BYTEA NOT NULL,
+    content_length BIGINT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+ALTER TABLE auth.items_item ADD COLUMN IF NOT EXISTS image_hash VARCHAR(64);
+
+INSERT INTO auth.item_image (hash, data, content_length)
+SELECT DISTINCT ON (hashed.hash) hashed.hash, hashed.image, length(hashed.image)
+FROM (
+    SELECT encode(sha256(image), 'hex') AS hash, image
+    FROM auth.items_item
+    WHERE image IS NOT NULL
+) hashed
+ON CONFLICT (hash) DO NOTHING;
+
+UPDATE auth.items_item
+SET image_hash = encode(sha256(image), 'hex')
+WHERE image IS NOT NULL;
+
+ALTER TABLE auth.items_item DROP COLUMN IF EXISTS image;
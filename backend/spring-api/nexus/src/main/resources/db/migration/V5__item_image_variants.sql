@@ -0,0 +1,3 @@
+-- Background-generated JPEG variants of the item image, stored in the blob store like the original.
+ALTER TABLE auth.items_item ADD COLUMN IF NOT EXISTS image_small_hash VARCHAR(64);
+ALTER TABLE auth.items_item ADD COLUMN IF NOT EXISTS image_medium_hash VARCHAR(64);
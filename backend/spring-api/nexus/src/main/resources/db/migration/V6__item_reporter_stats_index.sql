@@ -0,0 +1,4 @@
+-- Per-user statistics group a reporter's items by type and status; this index answers that
+-- aggregate for any set of reporters with an index-only scan.
+CREATE INDEX IF NOT EXISTS idx_items_item_reporter_type_status
+    ON auth.items_item (reporter_id, type, status);
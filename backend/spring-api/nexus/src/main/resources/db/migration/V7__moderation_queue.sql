@@ -0,0 +1,27 @@
+-- Reports are now recorded with a single insert; a background worker folds them into
+-- reported_counts and opens a moderation case when a target reaches the threshold.
+-- processed_at marks the reports the worker has already taken into account.
+ALTER TABLE auth.item_report ADD COLUMN IF NOT EXISTS processed_at TIMESTAMPTZ;
+ALTER TABLE auth.comment_report ADD COLUMN IF NOT EXISTS processed_at TIMESTAMPTZ;
+
+-- Everything reported so far was already applied inline.
+UPDATE auth.item_report SET processed_at = created_at WHERE processed_at IS NULL;
+UPDATE auth.comment_report SET processed_at = created_at WHERE processed_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_item_report_unprocessed
+    ON auth.item_report (id) WHERE processed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_comment_report_unprocessed
+    ON auth.comment_report (id) WHERE processed_at IS NULL;
+
+-- One case per flagged item or comment, worked through by the worker and then by admins.
+CREATE TABLE IF NOT EXISTS auth.moderation_case (
+    id BIGSERIAL PRIMARY KEY,
+    target_type VARCHAR(16) NOT NULL,
+    target_id BIGINT NOT NULL,
+    state VARCHAR(16) NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    CONSTRAINT uk_moderation_case_target UNIQUE (target_type, target_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_moderation_case_state ON auth.moderation_case (state, id);
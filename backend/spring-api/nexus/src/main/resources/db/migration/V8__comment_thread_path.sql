@@ -0,0 +1,37 @@
+-- Comment threads are stored as a materialized path so a page of threads, at any depth,
+-- can be read back with one query. For each comment:
+--   root_id  the top-level comment of its thread (NULL for top-level comments themselves)
+--   depth    0 for top-level comments, parent depth + 1 for replies
+--   path     the ids of its ancestors, root first, as '/<root>/.../<parent>/' ('/' at the top)
+-- The descendants of comment c are then exactly the rows whose path starts with
+-- c.path || c.id || '/'.
+ALTER TABLE auth.comment ADD COLUMN IF NOT EXISTS root_id BIGINT;
+ALTER TABLE auth.comment ADD COLUMN IF NOT EXISTS depth INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE auth.comment ADD COLUMN IF NOT EXISTS path VARCHAR(1024) NOT NULL DEFAULT '/';
+
+WITH RECURSIVE tree (id, root_id, depth, path) AS (
+    SELECT c.id, CAST(NULL AS BIGINT), 0, CAST('/' AS VARCHAR(1024))
+    FROM auth.comment c
+    WHERE c.parent_id IS NULL
+    UNION ALL
+    SELECT c.id, COALESCE(t.root_id, t.id), t.depth + 1, CAST(t.path || t.id || '/' AS VARCHAR(1024))
+    FROM auth.comment c
+    JOIN tree t ON c.parent_id = t.id
+)
+UPDATE auth.comment c
+SET root_id = tree.root_id, depth = tree.depth, path = tree.path
+FROM tree
+WHERE c.id = tree.id;
+
+ALTER TABLE auth.comment ALTER COLUMN depth DROP DEFAULT;
+ALTER TABLE auth.comment ALTER COLUMN path DROP DEFAULT;
+
+-- Removing a comment removes the whole subtree below it.
+ALTER TABLE auth.comment DROP CONSTRAINT IF EXISTS fk_comment_parent;
+ALTER TABLE auth.comment ADD CONSTRAINT fk_comment_parent
+    FOREIGN KEY (parent_id) REFERENCES auth.comment (id) ON DELETE CASCADE;
+
+CREATE INDEX IF NOT EXISTS idx_comment_root_id ON auth.comment (root_id, depth, created_at);
+CREATE INDEX IF NOT EXISTS idx_comment_path ON auth.comment (path varchar_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_comment_item_roots
+    ON auth.comment (item_id, created_at, id) WHERE parent_id IS NULL;
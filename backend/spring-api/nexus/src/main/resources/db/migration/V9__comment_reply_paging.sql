@@ -0,0 +1,23 @@
+-- Comments are read a page at a time with a short preview of each one's replies, and the
+-- remaining replies are paged by (created_at, id). reply_count lets clients show
+-- "n replies" for comments whose replies were not loaded.
+ALTER TABLE auth.comment ADD COLUMN IF NOT EXISTS reply_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE auth.comment c
+SET reply_count = r.replies
+FROM (
+    SELECT parent_id, COUNT(*) AS replies
+    FROM auth.comment
+    WHERE parent_id IS NOT NULL
+    GROUP BY parent_id
+) r
+WHERE c.id = r.parent_id;
+
+-- Serves both the reply keyset pages and the per-parent row_number() preview.
+CREATE INDEX IF NOT EXISTS idx_comment_parent_created ON auth.comment (parent_id, created_at, id);
+DROP INDEX IF EXISTS auth.idx_comment_parent_id;
+
+-- Whole threads are no longer loaded by root, so nothing reads root_id any more; the subtree
+-- of a comment is still found through path.
+DROP INDEX IF EXISTS auth.idx_comment_root_id;
+ALTER TABLE auth.comment DROP COLUMN IF EXISTS root_id;
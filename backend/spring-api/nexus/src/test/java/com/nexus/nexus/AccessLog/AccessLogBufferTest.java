@@ -0,0 +1,70 @@
+package com.nexus.nexus.AccessLog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new AccessLogBuffer(5).capacity()).isEqualTo(8);
+        assertThat(new AccessLogBuffer(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void entriesComeOutInOrderAndFullBufferRefusesOffers() {
+        AccessLogBuffer buffer = new AccessLogBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(entry(i))).isTrue();
+        }
+        assertThat(buffer.offer(entry(99))).isFalse();
+
+        assertThat(buffer.poll().status()).isEqualTo(0);
+        assertThat(buffer.offer(entry(4))).isTrue();
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll().status()).isEqualTo(i);
+        }
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingWhileThereIsRoom() throws Exception {
+        int producers = 8;
+        int perProducer = 1000;
+        AccessLogBuffer buffer = new AccessLogBuffer(producers * perProducer);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(entry(base + i));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        Set<Integer> seen = new HashSet<>();
+        AccessLogEntry entry;
+        while ((entry = buffer.poll()) != null) {
+            seen.add(entry.status());
+        }
+        assertThat(seen).hasSize(producers * perProducer);
+    }
+
+    private static AccessLogEntry entry(int status) {
+        return new AccessLogEntry(0L, "GET", "/api/items", status, 0L, 0L, null);
+    }
+}
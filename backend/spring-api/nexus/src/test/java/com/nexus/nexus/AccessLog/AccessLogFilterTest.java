@@ -0,0 +1,78 @@
+package com.nexus.nexus.AccessLog;
+
+import com.nexus.nexus.Security.JwtAuthenticationFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccessLogFilterTest {
+
+    @Mock
+    private AccessLogWriter accessLogWriter;
+
+    @Test
+    void recordsStatusUserAndDbTime() throws Exception {
+        when(accessLogWriter.isEnabled()).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/items");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new AccessLogFilter(accessLogWriter).doFilter(request, response, (req, res) -> {
+            req.setAttribute(JwtAuthenticationFilter.USER_ID_ATTRIBUTE, 7L);
+            DbTimeListener listener = new DbTimeListener();
+            listener.jdbcExecuteStatementStart();
+            listener.jdbcExecuteStatementEnd();
+            ((MockHttpServletResponse) res).setStatus(201);
+        });
+
+        ArgumentCaptor<AccessLogEntry> captor = ArgumentCaptor.forClass(AccessLogEntry.class);
+        verify(accessLogWriter).record(captor.capture());
+        AccessLogEntry entry = captor.getValue();
+        assertThat(entry.method()).isEqualTo("POST");
+        assertThat(entry.path()).isEqualTo("/api/items");
+        assertThat(entry.status()).isEqualTo(201);
+        assertThat(entry.userId()).isEqualTo(7L);
+        assertThat(entry.dbNanos()).isPositive();
+        assertThat(entry.latencyNanos()).isGreaterThanOrEqualTo(entry.dbNanos());
+    }
+
+    @Test
+    void failedRequestIsRecordedAsServerError() {
+        when(accessLogWriter.isEnabled()).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+
+        assertThatThrownBy(() -> new AccessLogFilter(accessLogWriter).doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> {
+                    throw new IllegalStateException("boom");
+                })).isInstanceOf(IllegalStateException.class);
+
+        ArgumentCaptor<AccessLogEntry> captor = ArgumentCaptor.forClass(AccessLogEntry.class);
+        verify(accessLogWriter).record(captor.capture());
+        assertThat(captor.getValue().status()).isEqualTo(500);
+        assertThat(captor.getValue().userId()).isNull();
+    }
+
+    @Test
+    void slowAndFailingRequestsAreAlwaysWritten() {
+        AccessLogWriter writer = new AccessLogWriter(false, 16, 0.0, Duration.ofMillis(500), Duration.ofSeconds(1));
+
+        assertThat(writer.shouldWrite(new AccessLogEntry(0L, "GET", "/", 503, 0L, 0L, null))).isTrue();
+        assertThat(writer.shouldWrite(new AccessLogEntry(0L, "GET", "/", 200, Duration.ofSeconds(1).toNanos(), 0L, null)))
+                .isTrue();
+        assertThat(writer.shouldWrite(new AccessLogEntry(0L, "GET", "/", 200, 1_000L, 0L, null))).isFalse();
+        assertThat(AccessLogWriter.format(new AccessLogEntry(0L, "GET", "/api/items", 200, 1_500_000L, 500_000L, 7L)))
+                .isEqualTo("ts=1970-01-01T00:00:00Z method=GET path=/api/items status=200 latency_ms=1.5 db_ms=0.5 user_id=7");
+    }
+}
@@ -0,0 +1,129 @@
+package com.nexus.nexus.Cache;
+
+import com.nexus.nexus.Service.CommentPage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CommentPageCacheTest {
+
+    private final CommentPageCache cache = new CommentPageCache(Duration.ofMinutes(1), 10, 2);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void pagesAreLoadedOncePerKey() {
+        CommentPage first = rootPage(1L, 0);
+        CommentPage again = rootPage(1L, 0);
+        rootPage(1L, 1);
+        cache.get(1L, 5L, "", 0, 20, this::load);
+
+        assertThat(again).isSameAs(first);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void leastRecentlyUsedPageIsEvictedPerItem() {
+        rootPage(1L, 0);
+        rootPage(1L, 1);
+        rootPage(1L, 0);
+        rootPage(1L, 2);
+        assertThat(loads).hasValue(3);
+
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(3);
+        rootPage(1L, 1);
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    void invalidateDropsOnlyThatItemsPages() {
+        rootPage(1L, 0);
+        cache.get(1L, 5L, "", 0, 20, this::load);
+        rootPage(2L, 0);
+
+        cache.invalidate(1L);
+
+        rootPage(1L, 0);
+        cache.get(1L, 5L, "", 0, 20, this::load);
+        rootPage(2L, 0);
+        assertThat(loads).hasValue(5);
+    }
+
+    @Test
+    void invalidationWaitsForCommit() {
+        rootPage(1L, 0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.invalidate(1L);
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void failedLoadsAreNotCached() {
+        assertThatThrownBy(() -> cache.get(1L, null, null, 0, 20, () -> {
+            throw new IllegalArgumentException("Item not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedLoadsDoNotPushRealItemsOut() {
+        rootPage(1L, 0);
+        for (long id = 100; id < 120; id++) {
+            Long unknown = id;
+            assertThatThrownBy(() -> rootPage(unknown, 0, () -> {
+                throw new IllegalArgumentException("Item not found");
+            })).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void firstPageLoadedDuringAnInvalidationIsNotCached() {
+        rootPage(1L, 0, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+
+        rootPage(1L, 0);
+        assertThat(loads).hasValue(2);
+    }
+
+    private CommentPage rootPage(Long itemId, int page) {
+        return rootPage(itemId, page, this::load);
+    }
+
+    private CommentPage rootPage(Long itemId, int page, Supplier<CommentPage> loader) {
+        return cache.get(itemId, null, null, page, 20, loader);
+    }
+
+    private CommentPage load() {
+        loads.incrementAndGet();
+        return new CommentPage(List.of(), 0, 20, 0, 0, false);
+    }
+}
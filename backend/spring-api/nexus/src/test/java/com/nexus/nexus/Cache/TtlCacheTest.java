@@ -0,0 +1,80 @@
+package com.nexus.nexus.Cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void entriesExpireAfterTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, now::get);
+        cache.put("a", "1");
+
+        now.addAndGet(Duration.ofSeconds(9).toNanos());
+        assertThat(cache.get("a")).isEqualTo("1");
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void loaderRunsOnlyOnMiss() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", key -> key + loads.incrementAndGet());
+        String second = cache.get("a", key -> key + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("a1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void fullCacheEvictsTheLeastRecentlyUsedEntry() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 2, now::get);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+
+        cache.put("c", "3");
+
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo("1");
+        assertThat(cache.get("c")).isEqualTo("3");
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void perEntryTtlIsCappedByCacheTtl() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, now::get);
+        cache.put("short", "1", Duration.ofSeconds(2));
+        cache.put("long", "2", Duration.ofHours(1));
+        cache.put("expired", "3", Duration.ofSeconds(-1));
+
+        now.addAndGet(Duration.ofSeconds(3).toNanos());
+        assertThat(cache.get("short")).isNull();
+        assertThat(cache.get("long")).isEqualTo("2");
+        assertThat(cache.get("expired")).isNull();
+
+        now.addAndGet(Duration.ofSeconds(7).toNanos());
+        assertThat(cache.get("long")).isNull();
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        TtlCache<String, String> cache = new TtlCache<>(Duration.ofSeconds(10), 10, now::get);
+        cache.put("a", "1");
+
+        cache.invalidate("a");
+
+        assertThat(cache.get("a")).isNull();
+    }
+}
@@ -21,7 +21,10 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,13 +54,36 @@ class CommentControllerTest {
         when(commentService.getCommentsForItem(1L, 0, 20)).thenReturn(page);
 
         ResponseEntity<com.nexus.nexus.Models.ResponseModel<CommentPage>> response =
-                controller.getComments(1L, 0, 20);
+                controller.getComments(1L, 0, 20, null);
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
         assertThat(response.getBody().getData().items()).hasSize(1);
         assertThat(response.getBody().getData().items().get(0).getId()).isEqualTo(1L);
     }
 
+    @Test
+    void getComments_usesKeysetPagingWhenCursorIsSent() {
+        CommentPage page = CommentPage.ofCursor(List.of(CommentResponseDto.builder().id(1L).build()), 20, "next");
+        when(commentService.getCommentsForItemAfter(1L, "", 20)).thenReturn(page);
+
+        ResponseEntity<ResponseModel<CommentPage>> response = controller.getComments(1L, 0, 20, "");
+
+        assertThat(response.getBody().getData().next()).isEqualTo("next");
+        verify(commentService, never()).getCommentsForItem(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getReplies_returnsReplyPage() {
+        CommentPage page = CommentPage.ofCursor(List.of(CommentResponseDto.builder().id(2L).build()), 20, null);
+        when(commentService.getReplies(1L, 5L, "cursor", 20)).thenReturn(page);
+
+        ResponseEntity<ResponseModel<CommentPage>> response = controller.getReplies(1L, 5L, "cursor", 20);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getData().items()).extracting(CommentResponseDto::getId).containsExactly(2L);
+        assertThat(response.getBody().getData().hasNext()).isFalse();
+    }
+
     @Test
     void addComment_returnsCreatedResponse() {
         JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
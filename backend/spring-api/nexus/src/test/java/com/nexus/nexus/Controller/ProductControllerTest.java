@@ -6,27 +6,37 @@ import com.nexus.nexus.Dto.ProductListItemDto;
 import com.nexus.nexus.Dto.ProductRequestDto;
 import com.nexus.nexus.Dto.ProductResponseDto;
 import com.nexus.nexus.Dto.UserItemCountsDto;
+import com.nexus.nexus.Enumaration.ImageVariant;
 import com.nexus.nexus.Enumaration.TypeOfReport;
 import com.nexus.nexus.Models.ResponseModel;
 import com.nexus.nexus.Security.JwtPrincipal;
+import com.nexus.nexus.Service.ProductImage;
 import com.nexus.nexus.Service.ProductPage;
 import com.nexus.nexus.Service.ProductService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.nexus.nexus.Storage.StoredBlob;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.OffsetDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,13 +63,26 @@ class ProductControllerTest {
         when(productService.findAllProducts(0, 5)).thenReturn(page);
 
         ResponseEntity<ResponseModel<ProductPage<ProductListItemDto>>> response =
-                controller.getAllProducts(0, 5);
+                controller.getAllProducts(0, 5, null);
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
         assertThat(response.getBody().getData().items()).hasSize(1);
         assertThat(response.getBody().getData().items().get(0).getId()).isEqualTo(1L);
     }
 
+    @Test
+    void getAllProducts_usesKeysetPagingWhenCursorIsSent() {
+        ProductPage<ProductListItemDto> page = ProductPage.ofCursor(
+                List.of(ProductListItemDto.builder().id(1L).build()), 5, "abc");
+        when(productService.findAllProductsAfter("", 5)).thenReturn(page);
+
+        ResponseEntity<ResponseModel<ProductPage<ProductListItemDto>>> response =
+                controller.getAllProducts(0, 5, "");
+
+        assertThat(response.getBody().getData().next()).isEqualTo("abc");
+        assertThat(response.getBody().getData().totalItems()).isEqualTo(-1);
+    }
+
     @Test
     void getProductById_returnsItem() {
         when(productService.getProductById(2L))
@@ -71,6 +94,55 @@ class ProductControllerTest {
         assertThat(response.getBody().getId()).isEqualTo(2L);
     }
 
+    @Test
+    void getProductImage_isImmutableWhenVersionMatches(@TempDir Path dir) throws Exception {
+        when(productService.getProductImage(2L, ImageVariant.ORIGINAL)).thenReturn(image(dir, new byte[]{1, 2, 3, 4, 5}));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/2/image");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getProductImage(2L, null, "abc", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader("ETag")).isEqualTo("\"abc\"");
+        assertThat(response.getHeader("Cache-Control")).contains("immutable").contains("max-age=31536000");
+        assertThat(response.getContentType()).isEqualTo("image/png");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void getProductImage_answersNotModifiedForMatchingEtag(@TempDir Path dir) throws Exception {
+        when(productService.getProductImage(2L, ImageVariant.ORIGINAL)).thenReturn(image(dir, new byte[]{1, 2, 3}));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/2/image");
+        request.addHeader("If-None-Match", "\"abc\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getProductImage(2L, null, null, request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("Cache-Control")).contains("no-cache").doesNotContain("immutable");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void getProductImage_servesSingleRange(@TempDir Path dir) throws Exception {
+        when(productService.getProductImage(2L, ImageVariant.ORIGINAL)).thenReturn(image(dir, new byte[]{1, 2, 3, 4, 5}));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items/2/image");
+        request.addHeader("Range", "bytes=1-3");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.getProductImage(2L, null, "abc", request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 1-3/5");
+        assertThat(response.getContentAsByteArray()).containsExactly(2, 3, 4);
+    }
+
+    private static ProductImage image(Path dir, byte[] data) throws Exception {
+        Path file = Files.write(dir.resolve("abc"), data);
+        return new ProductImage("abc", "image/png", new StoredBlob("abc", file, data.length));
+    }
+
     @Test
     void deleteProduct_returnsNoContent() {
         JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
@@ -94,6 +166,21 @@ class ProductControllerTest {
         assertThat(response.getBody().getData()).hasSize(1);
     }
 
+    @Test
+    void searchByText_returnsPagedResults() {
+        ProductPage<ProductListItemDto> page = new ProductPage<>(
+                List.of(ProductListItemDto.builder().id(1L).build()),
+                0, 20, 1, 1, false
+        );
+        when(productService.searchByText("wallet", 0, 20)).thenReturn(page);
+
+        ResponseEntity<ResponseModel<ProductPage<ProductListItemDto>>> response =
+                controller.searchByText("wallet", 0, 20);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getData().items()).hasSize(1);
+    }
+
     @Test
     void searchByLocation_returnsPagedResults() {
         ProductPage<ProductResponseDto> page = new ProductPage<>(
@@ -112,7 +199,7 @@ class ProductControllerTest {
                         1.0, 2.0, 3.0, "name", TypeOfReport.FOUND, List.of(2L),
                         OffsetDateTime.parse("2024-01-01T00:00:00Z"),
                         OffsetDateTime.parse("2024-01-02T00:00:00Z"),
-                        0, 20
+                        0, 20, null
                 );
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
@@ -121,7 +208,7 @@ class ProductControllerTest {
 
     @Test
     void getItemCounts_returnsCounts() {
-        when(productService.getItemCounts(any())).thenReturn(ItemCountsDto.builder()
+        when(productService.getItemCounts()).thenReturn(ItemCountsDto.builder()
                 .todayReported(1)
                 .allReported(2)
                 .returned(3)
@@ -175,6 +262,38 @@ class ProductControllerTest {
         assertThat(response.getBody().getData().getId()).isEqualTo(3L);
     }
 
+    @Test
+    void addProductMultipart_passesUploadedFileThrough() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())
+        );
+        MockMultipartFile image = new MockMultipartFile("image", "photo.jpg", "image/jpeg", new byte[]{1, 2});
+        when(productService.addProduct(any(), eq(image), eq(principal)))
+                .thenReturn(ProductResponseDto.builder().id(3L).build());
+
+        ResponseEntity<ResponseModel<ProductResponseDto>> response =
+                controller.addProductMultipart(ProductRequestDto.builder().name("x").build(), image);
+
+        assertThat(response.getBody().getData().getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void updateProductMultipart_treatsEmptyFileAsNoImage() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of())
+        );
+        MockMultipartFile empty = new MockMultipartFile("image", new byte[0]);
+        when(productService.updateProduct(eq(4L), any(), isNull(), eq(principal)))
+                .thenReturn(ProductResponseDto.builder().id(4L).build());
+
+        ResponseEntity<ResponseModel<ProductResponseDto>> response =
+                controller.updateProductMultipart(null, empty, 4L);
+
+        assertThat(response.getBody().getData().getId()).isEqualTo(4L);
+    }
+
     @Test
     void updateProduct_returnsOk() {
         JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
@@ -204,17 +323,27 @@ class ProductControllerTest {
     }
 
     @Test
-    void getPublicProfileItems_returnsCounts() {
-        JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
-        SecurityContextHolder.getContext().setAuthentication(
-                new UsernamePasswordAuthenticationToken(principal, null, List.of())
-        );
-        when(productService.getUserItemCounts(principal))
-                .thenReturn(UserItemCountsDto.builder().foundReported(2).lostReported(1).build());
+    void getPublicProfileItems_usesPathUserId() {
+        when(productService.getUserItemCounts(42L))
+                .thenReturn(UserItemCountsDto.builder().userId(42L).foundReported(2).lostReported(1).build());
 
         ResponseEntity<ResponseModel<UserItemCountsDto>> response = controller.getPublicProfileItems(42L);
 
         assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getData().getUserId()).isEqualTo(42L);
         assertThat(response.getBody().getData().getFoundReported()).isEqualTo(2);
     }
+
+    @Test
+    void getUsersItemCounts_returnsBatch() {
+        when(productService.getUsersItemCounts(List.of(1L, 2L))).thenReturn(List.of(
+                UserItemCountsDto.builder().userId(1L).build(),
+                UserItemCountsDto.builder().userId(2L).lostReported(3).build()));
+
+        ResponseEntity<ResponseModel<List<UserItemCountsDto>>> response = controller.getUsersItemCounts(List.of(1L, 2L));
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        assertThat(response.getBody().getData()).hasSize(2);
+        assertThat(response.getBody().getData().get(1).getLostReported()).isEqualTo(3);
+    }
 }
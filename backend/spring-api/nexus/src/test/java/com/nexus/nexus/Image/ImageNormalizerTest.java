@@ -0,0 +1,113 @@
+package com.nexus.nexus.Image;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageNormalizerTest {
+
+    private final ImageNormalizer normalizer = new ImageNormalizer(100, 0.85f);
+
+    @Test
+    void normalize_capsLongestEdgeAndReencodesAsJpeg() throws Exception {
+        byte[] normalized = normalizer.normalize(new ByteArrayResource(encode(image(800, 400), "png"))).orElseThrow();
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(normalized));
+        assertThat(normalized[0] & 0xFF).isEqualTo(0xFF);
+        assertThat(normalized[1] & 0xFF).isEqualTo(0xD8);
+        assertThat(result.getWidth()).isEqualTo(100);
+        assertThat(result.getHeight()).isEqualTo(50);
+    }
+
+    @Test
+    void normalize_rotatesUprightAndDropsExif() throws Exception {
+        // Sensor-oriented 80x40 frame tagged "rotate 90 CW" (orientation 6), left half red.
+        BufferedImage sideways = image(80, 40);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                sideways.setRGB(x, y, Color.RED.getRGB());
+            }
+        }
+        byte[] upload = withExifOrientation(encode(sideways, "jpeg"), 6);
+
+        byte[] normalized = normalizer.normalize(new ByteArrayResource(upload)).orElseThrow();
+
+        BufferedImage result = ImageIO.read(new ByteArrayInputStream(normalized));
+        assertThat(result.getWidth()).isEqualTo(40);
+        assertThat(result.getHeight()).isEqualTo(80);
+        // After a clockwise turn the red left half ends up on top.
+        assertThat(new Color(result.getRGB(20, 10)).getRed()).isGreaterThan(200);
+        assertThat(new Color(result.getRGB(20, 70)).getRed()).isLessThan(60);
+        assertThat(containsExif(normalized)).isFalse();
+    }
+
+    @Test
+    void normalize_leavesUndecodableUploadsToTheCaller() {
+        assertThat(normalizer.normalize(new ByteArrayResource(new byte[]{1, 2, 3}))).isEmpty();
+    }
+
+    @Test
+    void parse_readsBigEndianOrientation() {
+        assertThat(ExifOrientation.parse(exifSegment(8))).isEqualTo(8);
+        assertThat(ExifOrientation.parse(new byte[]{1, 2})).isEqualTo(ExifOrientation.NORMAL);
+    }
+
+    private static BufferedImage image(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, Color.BLUE.getRGB());
+            }
+        }
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    /** APP1 payload: "Exif\0\0" + big-endian TIFF header + IFD0 holding only the orientation tag. */
+    private static byte[] exifSegment(int orientation) {
+        ByteBuffer buffer = ByteBuffer.allocate(6 + 8 + 2 + 12 + 4).order(ByteOrder.BIG_ENDIAN);
+        buffer.put(new byte[]{'E', 'x', 'i', 'f', 0, 0});
+        buffer.put(new byte[]{'M', 'M'}).putShort((short) 42).putInt(8);
+        buffer.putShort((short) 1);
+        buffer.putShort((short) 0x0112).putShort((short) 3).putInt(1).putShort((short) orientation).putShort((short) 0);
+        buffer.putInt(0);
+        return buffer.array();
+    }
+
+    /** Inserts an APP1 EXIF segment right after the SOI marker. */
+    private static byte[] withExifOrientation(byte[] jpeg, int orientation) {
+        byte[] payload = exifSegment(orientation);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(jpeg, 0, 2);
+        out.write(0xFF);
+        out.write(0xE1);
+        out.write((payload.length + 2) >> 8);
+        out.write((payload.length + 2) & 0xFF);
+        out.write(payload, 0, payload.length);
+        out.write(jpeg, 2, jpeg.length - 2);
+        return out.toByteArray();
+    }
+
+    private static boolean containsExif(byte[] jpeg) {
+        for (int i = 0; i + 4 < jpeg.length; i++) {
+            if (jpeg[i] == 'E' && jpeg[i + 1] == 'x' && jpeg[i + 2] == 'i' && jpeg[i + 3] == 'f') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,143 @@
+package com.nexus.nexus.Image;
+
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Storage.BlobStore;
+import com.nexus.nexus.Storage.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantPipelineTest {
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private LocalBlobStore blobStore;
+    private ImageVariantPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        blobStore = new LocalBlobStore(root.toString());
+        pipeline = new ImageVariantPipeline(blobStore, reportRepository, 16, 64, 0.8f, 1, 4);
+    }
+
+    @Test
+    void generate_writesDownscaledJpegVariantsAndRecordsThem() throws Exception {
+        String original = blobStore.put(png(400, 200));
+
+        pipeline.generate(7L, original);
+
+        ArgumentCaptor<String> small = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> medium = ArgumentCaptor.forClass(String.class);
+        verify(reportRepository).updateImageVariants(eq(7L), eq(original), small.capture(), medium.capture());
+        BufferedImage smallImage = ImageIO.read(blobStore.find(small.getValue()).orElseThrow().file().toFile());
+        BufferedImage mediumImage = ImageIO.read(blobStore.find(medium.getValue()).orElseThrow().file().toFile());
+        assertThat(smallImage.getWidth()).isEqualTo(16);
+        assertThat(smallImage.getHeight()).isEqualTo(8);
+        assertThat(mediumImage.getWidth()).isEqualTo(64);
+        assertThat(mediumImage.getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void generate_recordsOriginalAsVariantsOfUndecodableImages() {
+        String original = blobStore.put(new byte[]{1, 2, 3, 4});
+
+        pipeline.generate(7L, original);
+
+        verify(reportRepository).updateImageVariants(7L, original, original, original);
+    }
+
+    @Test
+    void generate_recordsOriginalAsVariantsOfCorruptImages() throws Exception {
+        byte[] png = png(40, 20);
+        byte[] truncated = new byte[24];
+        System.arraycopy(png, 0, truncated, 0, truncated.length);
+        String original = blobStore.put(truncated);
+
+        pipeline.generate(7L, original);
+
+        verify(reportRepository).updateImageVariants(7L, original, original, original);
+    }
+
+    @Test
+    void generate_leavesVariantsUnsetWhenStoringThemFails() throws Exception {
+        String original = blobStore.put(png(400, 200));
+        BlobStore failingStore = mock(BlobStore.class);
+        when(failingStore.find(original)).thenReturn(blobStore.find(original));
+        when(failingStore.put(any(byte[].class))).thenThrow(new UncheckedIOException(new IOException("disk full")));
+        ImageVariantPipeline failingPipeline =
+                new ImageVariantPipeline(failingStore, reportRepository, 16, 64, 0.8f, 1, 4);
+        try {
+            failingPipeline.generate(7L, original);
+        } finally {
+            failingPipeline.destroy();
+        }
+
+        verify(reportRepository, never()).updateImageVariants(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void generate_skipsImagesMissingFromTheStore() {
+        pipeline.generate(7L, "missing");
+
+        verify(reportRepository, never()).updateImageVariants(anyLong(), anyString(), any(), any());
+    }
+
+    @Test
+    void submit_ignoresAnImageAlreadyInFlight() throws Exception {
+        BlobStore slowStore = mock(BlobStore.class);
+        CountDownLatch release = new CountDownLatch(1);
+        when(slowStore.find("hash")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.empty();
+        });
+        ImageVariantPipeline slowPipeline = new ImageVariantPipeline(slowStore, reportRepository, 16, 64, 0.8f, 1, 4);
+        try {
+            slowPipeline.submit(7L, "hash");
+            slowPipeline.submit(7L, "hash");
+            release.countDown();
+
+            verify(slowStore, after(300).times(1)).find("hash");
+            slowPipeline.submit(7L, "hash");
+            verify(slowStore, timeout(1000).times(2)).find("hash");
+        } finally {
+            slowPipeline.destroy();
+        }
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", out);
+        return out.toByteArray();
+    }
+}
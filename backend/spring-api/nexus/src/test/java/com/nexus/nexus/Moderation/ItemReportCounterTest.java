@@ -0,0 +1,68 @@
+package com.nexus.nexus.Moderation;
+
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemReportCounterTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ModerationActions moderationActions;
+
+    private ItemReportCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new ItemReportCounter(reportRepository, moderationActions, 3);
+    }
+
+    @Test
+    void countReport_belowThresholdOnlyCounts() {
+        when(reportRepository.incrementReportedCounts(eq(7L), eq(Status.ACTIVE), eq(3), any())).thenReturn(1);
+
+        assertThat(counter.countReport(7L)).isFalse();
+
+        verify(reportRepository, never()).incrementReportedCountsAndFlag(any(), any(), any(), any(Integer.class), any());
+        verify(moderationActions, never()).itemHidden(any());
+    }
+
+    @Test
+    void countReport_flagsTheItemWhenTheThresholdIsReached() {
+        when(reportRepository.incrementReportedCounts(eq(7L), eq(Status.ACTIVE), eq(3), any())).thenReturn(0);
+        when(reportRepository.incrementReportedCountsAndFlag(eq(7L), eq(Status.ACTIVE), eq(Status.REPORTED), eq(3),
+                any())).thenReturn(1);
+
+        assertThat(counter.countReport(7L)).isTrue();
+
+        verify(moderationActions).itemHidden(7L);
+    }
+
+    @Test
+    void countReport_retriesAfterLosingARace() {
+        when(reportRepository.incrementReportedCounts(eq(7L), eq(Status.ACTIVE), eq(3), any())).thenReturn(0, 1);
+        when(reportRepository.incrementReportedCountsAndFlag(eq(7L), eq(Status.ACTIVE), eq(Status.REPORTED), eq(3),
+                any())).thenReturn(0);
+        when(reportRepository.existsById(7L)).thenReturn(true);
+
+        assertThat(counter.countReport(7L)).isFalse();
+
+        verify(reportRepository, times(2)).incrementReportedCounts(eq(7L), eq(Status.ACTIVE), eq(3), any());
+        verify(moderationActions, never()).itemHidden(any());
+    }
+}
@@ -0,0 +1,93 @@
+package com.nexus.nexus.Moderation;
+
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import com.nexus.nexus.Repository.CommentReportRepository;
+import com.nexus.nexus.Repository.ItemReportRepository;
+import com.nexus.nexus.Repository.ModerationCaseRepository;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationWorkerTest {
+
+    @Mock
+    private ItemReportRepository itemReportRepository;
+
+    @Mock
+    private CommentReportRepository commentReportRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ModerationCaseRepository moderationCaseRepository;
+
+    @Mock
+    private ModerationActions moderationActions;
+
+    private ModerationWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new ModerationWorker(itemReportRepository, commentReportRepository, reportRepository,
+                moderationCaseRepository, moderationActions,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), 200, 3);
+    }
+
+    @Test
+    void run_keepsGoingWhenOneStepFails() {
+        when(itemReportRepository.findUnprocessed(any()))
+                .thenThrow(new DataAccessResourceFailureException("item_report unavailable"));
+        when(commentReportRepository.findUnprocessed(any())).thenReturn(List.of());
+        when(moderationCaseRepository.findByStateOrderByIdAsc(eq(ModerationState.PENDING), any()))
+                .thenReturn(List.of());
+
+        worker.run();
+
+        verify(commentReportRepository).findUnprocessed(any());
+        verify(moderationCaseRepository).findByStateOrderByIdAsc(eq(ModerationState.PENDING), any());
+    }
+
+    @Test
+    void processPendingCases_closesCasesWhoseTargetIsGoneAsStale() {
+        ModerationCase hidden = pending(1L, ModerationTargetType.ITEM, 10L);
+        ModerationCase deletedItem = pending(2L, ModerationTargetType.ITEM, 11L);
+        ModerationCase deletedComment = pending(3L, ModerationTargetType.COMMENT, 20L);
+        when(moderationCaseRepository.findByStateOrderByIdAsc(eq(ModerationState.PENDING), any()))
+                .thenReturn(List.of(hidden, deletedItem, deletedComment));
+        when(moderationActions.hideItem(10L)).thenReturn(true);
+
+        worker.processPendingCases();
+
+        assertThat(hidden.getState()).isEqualTo(ModerationState.ACTIONED);
+        assertThat(deletedItem.getState()).isEqualTo(ModerationState.STALE);
+        assertThat(deletedComment.getState()).isEqualTo(ModerationState.STALE);
+    }
+
+    private static ModerationCase pending(Long id, ModerationTargetType targetType, Long targetId) {
+        return ModerationCase.builder()
+                .id(id)
+                .targetType(targetType)
+                .targetId(targetId)
+                .state(ModerationState.PENDING)
+                .build();
+    }
+}
@@ -0,0 +1,139 @@
+package com.nexus.nexus.Search;
+
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemGeoIndexTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private ItemGeoIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ItemGeoIndex(reportRepository, 0.01);
+        when(reportRepository.findLocationsByStatus(Status.ACTIVE)).thenReturn(List.of());
+        index.rebuild();
+    }
+
+    @Test
+    void findWithinRadius_usesExactCircleNotBoundingBox() {
+        index.sync(activeItem(1L, "35.700000", "51.400000"));
+        // ~0.98 km north: inside a 1 km circle
+        index.sync(activeItem(2L, "35.708800", "51.400000"));
+        // corner of the 1 km bounding box (~1.27 km away): outside the circle
+        index.sync(activeItem(3L, "35.708000", "51.409800"));
+
+        List<Long> ids = index.findWithinRadius(35.7, 51.4, 1.0);
+
+        assertThat(ids).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void findWithinRadius_wrapsAroundTheAntimeridian() {
+        ItemGeoIndex coarse = new ItemGeoIndex(reportRepository, 1.0);
+        coarse.rebuild();
+        coarse.sync(activeItem(1L, "0.000000", "179.900000"));
+        coarse.sync(activeItem(2L, "0.000000", "-179.900000"));
+        coarse.sync(activeItem(3L, "0.000000", "178.000000"));
+        // Enough items elsewhere that the query probes cells instead of scanning every point.
+        for (long id = 10; id < 30; id++) {
+            coarse.sync(activeItem(id, "45.000000", "10.000000"));
+        }
+
+        assertThat(coarse.findWithinRadius(0.0, 179.95, 50.0)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(coarse.findWithinRadius(0.0, -179.95, 50.0)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void sync_dropsItemsThatAreNoLongerActive() {
+        Item item = activeItem(1L, "35.700000", "51.400000");
+        index.sync(item);
+
+        item.setStatus(Status.REPORTED);
+        index.sync(item);
+
+        assertThat(index.findWithinRadius(35.7, 51.4, 5.0)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    @Test
+    void sync_movesItemBetweenCells() {
+        Item item = activeItem(1L, "35.700000", "51.400000");
+        index.sync(item);
+
+        item.setLatitude(new BigDecimal("35.800000"));
+        index.sync(item);
+
+        assertThat(index.findWithinRadius(35.7, 51.4, 1.0)).isEmpty();
+        assertThat(index.findWithinRadius(35.8, 51.4, 1.0)).containsExactly(1L);
+    }
+
+    @Test
+    void remove_evictsItem() {
+        index.sync(activeItem(1L, "35.700000", "51.400000"));
+
+        index.remove(1L);
+
+        assertThat(index.findWithinRadius(35.7, 51.4, 1.0)).isEmpty();
+    }
+
+    @Test
+    void changesApplyOnlyOnceCommitted() {
+        index.sync(activeItem(1L, "35.700000", "51.400000"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.sync(activeItem(2L, "35.700100", "51.400000"));
+            index.remove(1L);
+            assertThat(index.findWithinRadius(35.7, 51.4, 1.0)).containsExactly(1L);
+        } finally {
+            // Rolled back: nothing changes.
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.findWithinRadius(35.7, 51.4, 1.0)).containsExactly(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.sync(activeItem(2L, "35.700100", "51.400000"));
+            index.remove(1L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.findWithinRadius(35.7, 51.4, 1.0)).containsExactly(2L);
+    }
+
+    @Test
+    void haversineKm_matchesKnownDistance() {
+        // Azadi Tower to Milad Tower, roughly 6 km
+        double distance = ItemGeoIndex.haversineKm(35.6997, 51.3380, 35.7448, 51.3753);
+
+        assertThat(distance).isBetween(5.5, 6.5);
+    }
+
+    private static Item activeItem(Long id, String lat, String lon) {
+        return Item.builder()
+                .id(id)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal(lat))
+                .longitude(new BigDecimal(lon))
+                .build();
+    }
+}
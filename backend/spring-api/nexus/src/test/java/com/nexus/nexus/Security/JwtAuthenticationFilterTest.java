@@ -0,0 +1,123 @@
+package com.nexus.nexus.Security;
+
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtAuthenticationFilterTest {
+
+    private KeyPair keyPair;
+    private JwtUtil jwtUtil;
+    private TokenRevocationList revocations;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+
+        VerifiedTokenCache cache = new VerifiedTokenCache(100, Duration.ofMinutes(15));
+        String pem = Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+        jwtUtil = spy(new JwtUtil(new JwtKeyRing(pem, "", "", cache)));
+        revocations = new TokenRevocationList(100, 0.01);
+        filter = new JwtAuthenticationFilter(jwtUtil, cache, revocations);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnlyOnce() throws Exception {
+        String token = token("access", Instant.now().plusSeconds(600));
+
+        Authentication first = filter(token);
+        SecurityContextHolder.clearContext();
+        Authentication second = filter(token);
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(((JwtPrincipal) second.getPrincipal()).email()).isEqualTo("user@example.com");
+        assertThat(((JwtPrincipal) second.getPrincipal()).userId()).isEqualTo(7L);
+        verify(jwtUtil, times(1)).parseClaims(anyString());
+    }
+
+    @Test
+    void tamperedTokenIsRejectedAndNotCached() throws Exception {
+        String token = token("access", Instant.now().plusSeconds(600));
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThat(filter(tampered)).isNull();
+        assertThat(filter(tampered)).isNull();
+        verify(jwtUtil, times(2)).parseClaims(anyString());
+    }
+
+    @Test
+    void refreshTokenIsRejected() throws Exception {
+        assertThat(filter(token("refresh", Instant.now().plusSeconds(600)))).isNull();
+    }
+
+    @Test
+    void revokedTokenIsRejectedEvenWhenAlreadyVerified() throws Exception {
+        String token = token("access", Instant.now().plusSeconds(600));
+        assertThat(filter(token)).isNotNull();
+        SecurityContextHolder.clearContext();
+
+        revocations.revoke("jti-1", Instant.now().plusSeconds(600));
+
+        assertThat(filter(token)).isNull();
+    }
+
+    @Test
+    void tokenIsNotVerifiedUnlessTheContextIsRead() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("Authorization", "Bearer " + token("access", Instant.now().plusSeconds(600)));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        verify(jwtUtil, never()).parseClaims(anyString());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        verify(jwtUtil, times(1)).parseClaims(anyString());
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/items");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private String token(String type, Instant expiresAt) {
+        return Jwts.builder()
+                .subject("user@example.com")
+                .id("jti-1")
+                .claim("user_id", 7)
+                .claim("is_verified", true)
+                .claim("token_type", type)
+                .expiration(Date.from(expiresAt))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+}
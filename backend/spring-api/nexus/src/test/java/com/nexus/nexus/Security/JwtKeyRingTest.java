@@ -0,0 +1,149 @@
+package com.nexus.nexus.Security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    @TempDir
+    Path dir;
+
+    private final KeyPair first = generate();
+    private final KeyPair second = generate();
+    private final KeyPair third = generate();
+
+    private VerifiedTokenCache cache;
+    private JwtKeyRing keyRing;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        writePem("first", first);
+        Files.writeString(dir.resolve("keys.json"), "{\"keys\":["
+                + Jwks.json(Jwks.builder().key((RSAPublicKey) second.getPublic()).id("second").build()) + "]}");
+        cache = new VerifiedTokenCache(100, Duration.ofMinutes(15));
+        keyRing = new JwtKeyRing("", "", dir.toString(), cache);
+        jwtUtil = new JwtUtil(keyRing);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        keyRing.stopWatching();
+    }
+
+    @Test
+    void selectsKeyByKidFromPemAndJwksFiles() {
+        assertThat(jwtUtil.parseClaims(token(first, "first")).getSubject()).isEqualTo("user@example.com");
+        assertThat(jwtUtil.parseClaims(token(second, "second")).getSubject()).isEqualTo("user@example.com");
+    }
+
+    @Test
+    void rejectsUnknownKidAndWrongKey() {
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token(third, "third"))).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token(third, "first"))).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void reloadPicksUpRotatedKeysAndClearsVerifiedTokens() throws Exception {
+        JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", null, true, "jti");
+        String cached = token(first, "first");
+        cache.put(cached, principal, Date.from(Instant.now().plusSeconds(600)), cache.generation());
+
+        writePem("third", third);
+        Files.delete(dir.resolve("first.pem"));
+        keyRing.reload();
+
+        assertThat(jwtUtil.parseClaims(token(third, "third")).getSubject()).isEqualTo("user@example.com");
+        assertThatThrownBy(() -> jwtUtil.parseClaims(token(first, "first"))).isInstanceOf(JwtException.class);
+        assertThat(cache.get(cached)).isNull();
+    }
+
+    @Test
+    void reloadDiscardsPrincipalsVerifiedAgainstThePreviousKeys() {
+        JwtPrincipal principal = new JwtPrincipal(1L, "user@example.com", null, true, "jti");
+        String token = token(first, "first");
+        Date expiresAt = Date.from(Instant.now().plusSeconds(600));
+        long generation = cache.generation();
+        jwtUtil.parseClaims(token);
+
+        // The ring is reloaded while that verification is still finishing.
+        keyRing.reload();
+        cache.put(token, principal, expiresAt, generation);
+
+        assertThat(cache.get(token)).isNull();
+        cache.put(token, principal, expiresAt, cache.generation());
+        assertThat(cache.get(token)).isEqualTo(principal);
+    }
+
+    @Test
+    void watcherReloadsWhenAKeyFileAppears() throws Exception {
+        jwtUtil.parseClaims(token(first, "first"));
+        keyRing.startWatching();
+
+        writePem("third", third);
+
+        String token = token(third, "third");
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        boolean accepted = false;
+        while (!accepted && System.nanoTime() < deadline) {
+            try {
+                jwtUtil.parseClaims(token);
+                accepted = true;
+            } catch (JwtException e) {
+                Thread.sleep(50);
+            }
+        }
+        assertThat(accepted).isTrue();
+    }
+
+    @Test
+    void singlePemKeyVerifiesTokensWithoutKid() {
+        String pem = Base64.getEncoder().encodeToString(first.getPublic().getEncoded());
+        JwtUtil legacy = new JwtUtil(new JwtKeyRing(pem, "", "", cache));
+
+        assertThat(legacy.parseClaims(token(first, null)).getSubject()).isEqualTo("user@example.com");
+    }
+
+    private void writePem(String kid, KeyPair pair) throws Exception {
+        String body = Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(pair.getPublic().getEncoded());
+        Files.writeString(dir.resolve(kid + ".pem"),
+                "-----BEGIN PUBLIC KEY-----\n" + body + "\n-----END PUBLIC KEY-----\n");
+    }
+
+    private static String token(KeyPair pair, String kid) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("user@example.com")
+                .expiration(Date.from(Instant.now().plusSeconds(600)))
+                .signWith(pair.getPrivate())
+                .compact();
+    }
+
+    private static KeyPair generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
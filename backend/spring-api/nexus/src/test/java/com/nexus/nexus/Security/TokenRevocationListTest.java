@@ -0,0 +1,99 @@
+package com.nexus.nexus.Security;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenRevocationListTest {
+
+    private MutableClock clock;
+    private TokenRevocationList revocations;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T12:00:00Z"));
+        revocations = new TokenRevocationList(100, 0.01, clock);
+    }
+
+    @Test
+    void revokedTokenIsRefusedUntilItExpires() {
+        revocations.revoke("jti-1", clock.instant().plusSeconds(60));
+
+        assertThat(revocations.isRevoked("jti-1")).isTrue();
+        assertThat(revocations.isRevoked("jti-2")).isFalse();
+        assertThat(revocations.isRevoked(null)).isFalse();
+
+        clock.instant = clock.instant.plusSeconds(61);
+        assertThat(revocations.isRevoked("jti-1")).isFalse();
+    }
+
+    @Test
+    void alreadyExpiredTokensAreNotStored() {
+        revocations.revoke("jti-1", clock.instant().minusSeconds(1));
+
+        assertThat(revocations.size()).isZero();
+        assertThat(revocations.isRevoked("jti-1")).isFalse();
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndKeepsLiveOnes() {
+        revocations.revoke("short", clock.instant().plusSeconds(10));
+        revocations.revoke("long", clock.instant().plusSeconds(600));
+
+        clock.instant = clock.instant.plusSeconds(11);
+        revocations.purgeExpired();
+
+        assertThat(revocations.size()).isEqualTo(1);
+        assertThat(revocations.isRevoked("long")).isTrue();
+        assertThat(revocations.isRevoked("short")).isFalse();
+    }
+
+    @Test
+    void survivesMoreEntriesThanExpected() {
+        for (int i = 0; i < 1000; i++) {
+            revocations.revoke("jti-" + i, clock.instant().plusSeconds(600));
+        }
+        revocations.purgeExpired();
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(revocations.isRevoked("jti-" + i)).isTrue();
+        }
+        assertThat(revocations.isRevoked("other")).isFalse();
+    }
+
+    @Test
+    void tokenWithoutJtiIsRejected() {
+        assertThatThrownBy(() -> revocations.revoke(" ", clock.instant().plusSeconds(60)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
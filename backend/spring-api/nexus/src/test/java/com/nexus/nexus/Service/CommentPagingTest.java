@@ -0,0 +1,118 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Dto.CommentRequestDto;
+import com.nexus.nexus.Dto.CommentResponseDto;
+import com.nexus.nexus.Entity.Category;
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Enumaration.TypeOfReport;
+import com.nexus.nexus.Repository.CategoryRepository;
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Security.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class CommentPagingTest {
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void rootsArePagedByCursorAndRepliesArePreviewed() {
+        Item item = newItem();
+        JwtPrincipal author = newPrincipal("paging-" + item.getId());
+        List<Long> roots = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            roots.add(addComment(item, "root " + i, null, author).getId());
+        }
+        List<Long> replies = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            replies.add(addComment(item, "reply " + i, roots.get(0), author).getId());
+        }
+        addComment(item, "only reply", roots.get(1), author);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        CommentPage first = null;
+        while (cursor != null) {
+            CommentPage page = commentService.getCommentsForItemAfter(item.getId(), cursor, 2);
+            if (first == null) {
+                first = page;
+            }
+            page.items().forEach(comment -> seen.add(comment.getId()));
+            cursor = page.next();
+        }
+        assertThat(seen).containsExactlyElementsOf(roots);
+
+        CommentResponseDto busy = first.items().get(0);
+        assertThat(busy.getReplyCount()).isEqualTo(7);
+        assertThat(busy.getReplies()).extracting(CommentResponseDto::getId)
+                .containsExactlyElementsOf(replies.subList(0, 3));
+        assertThat(busy.getRepliesNext()).isNotNull();
+        CommentResponseDto quiet = first.items().get(1);
+        assertThat(quiet.getReplies()).hasSize(1);
+        assertThat(quiet.getRepliesNext()).isNull();
+
+        List<Long> rest = new ArrayList<>();
+        cursor = busy.getRepliesNext();
+        while (cursor != null) {
+            CommentPage page = commentService.getReplies(item.getId(), roots.get(0), cursor, 3);
+            page.items().forEach(reply -> rest.add(reply.getId()));
+            cursor = page.next();
+        }
+        assertThat(rest).containsExactlyElementsOf(replies.subList(3, 7));
+    }
+
+    private CommentResponseDto addComment(Item item, String text, Long parentId, JwtPrincipal author) {
+        return commentService.addComment(item.getId(), new CommentRequestDto(text, parentId), author);
+    }
+
+    private Item newItem() {
+        User owner = newUser("comment-owner-" + System.nanoTime());
+        Category category = categoryRepository.save(Category.builder().name("keys-" + owner.getId()).build());
+        return reportRepository.save(Item.builder()
+                .name("keys")
+                .type(TypeOfReport.FOUND)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.4"))
+                .reporter(owner)
+                .category(category)
+                .createdAt(OffsetDateTime.now())
+                .build());
+    }
+
+    private JwtPrincipal newPrincipal(String name) {
+        User user = newUser(name);
+        return new JwtPrincipal(user.getId(), user.getEmail(), user.getFullName(), true, "jti-" + name);
+    }
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email(name + "@example.com")
+                .password("secret")
+                .registrationDate(OffsetDateTime.now())
+                .build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.nexus.nexus.Service;
 
+import com.nexus.nexus.Cache.CommentPageCache;
 import com.nexus.nexus.Dto.CommentRequestDto;
 import com.nexus.nexus.Dto.CommentResponseDto;
 import com.nexus.nexus.Entity.Comment;
@@ -9,18 +10,21 @@ import com.nexus.nexus.Mapper.CommentMapper;
 import com.nexus.nexus.Repository.CommentReportRepository;
 import com.nexus.nexus.Repository.CommentRepository;
 import com.nexus.nexus.Repository.ReportRepository;
-import com.nexus.nexus.Repository.UserRepository;
 import com.nexus.nexus.Security.JwtPrincipal;
 import com.nexus.nexus.Service.ServiceImplementation.CommentServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -43,11 +47,17 @@ class CommentServiceImplTest {
     private ReportRepository reportRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PrincipalUserResolver principalUserResolver;
 
     @Mock
     private CommentMapper commentMapper;
 
+    @Spy
+    private CommentPageCache commentPageCache = new CommentPageCache(Duration.ofMinutes(1), 100, 8);
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private CommentServiceImpl service;
 
@@ -61,29 +71,119 @@ class CommentServiceImplTest {
     }
 
     @Test
-    void getCommentsForItem_paginatesRootsAndIncludesReplies() {
+    void getCommentsForItem_previewsFirstRepliesOfEachRoot() {
+        Item item = Item.builder().id(1L).build();
+        Comment root = comment(10L, item, null);
+        Comment quiet = comment(20L, item, null);
+        List<Comment> replies = List.of(comment(11L, item, root), comment(12L, item, root),
+                comment(13L, item, root), comment(14L, item, root));
+
+        when(reportRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRoots(eq(1L), any())).thenReturn(new PageImpl<>(List.of(root, quiet)));
+        when(commentRepository.findFirstReplies(List.of(10L, 20L), 4L))
+                .thenReturn(replies);
+        when(commentMapper.toDto(any(Comment.class)))
+                .thenAnswer(invocation -> CommentResponseDto.builder().id(invocation.<Comment>getArgument(0).getId()).build());
+
+        CommentPage result = service.getCommentsForItem(1L, 0, 10);
+
+        assertThat(result.items()).extracting(CommentResponseDto::getId).containsExactly(10L, 20L);
+        CommentResponseDto first = result.items().get(0);
+        assertThat(first.getReplies()).extracting(CommentResponseDto::getId).containsExactly(11L, 12L, 13L);
+        assertThat(CommentCursor.decode(first.getRepliesNext()).id()).isEqualTo(13L);
+        assertThat(result.items().get(1).getReplies()).isEmpty();
+        assertThat(result.items().get(1).getRepliesNext()).isNull();
+        assertThat(result.totalItems()).isEqualTo(2);
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    void getCommentsForItem_servesRepeatViewsFromCacheUntilACommentIsAdded() {
         Item item = Item.builder().id(1L).build();
-        Comment root = Comment.builder().id(10L).item(item).text("root").createdAt(LocalDateTime.now()).build();
-        Comment reply = Comment.builder().id(11L).item(item).parent(root).text("reply").createdAt(LocalDateTime.now()).build();
+        Comment root = comment(10L, item, null);
+        Comment saved = comment(11L, item, null);
+
+        when(reportRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRoots(eq(1L), any())).thenReturn(new PageImpl<>(List.of(root)));
+        when(commentMapper.toDto(any(Comment.class)))
+                .thenAnswer(invocation -> CommentResponseDto.builder().id(invocation.<Comment>getArgument(0).getId()).build());
+
+        CommentPage first = service.getCommentsForItem(1L, 0, 10);
+        CommentPage second = service.getCommentsForItem(1L, 0, 10);
+
+        assertThat(second).isSameAs(first);
+        verify(commentRepository, times(1)).findRoots(eq(1L), any());
 
-        Page<Comment> page = new PageImpl<>(List.of(root));
         when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findByItemIdAndParentIsNullOrderByCreatedAtAsc(eq(1L), any())).thenReturn(page);
-        when(commentRepository.findByParentIdInOrderByCreatedAtAsc(List.of(10L))).thenReturn(List.of(reply));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(commentRepository.save(any(Comment.class))).thenReturn(saved);
+        service.addComment(1L, new CommentRequestDto("hi", null), principal);
+
+        service.getCommentsForItem(1L, 0, 10);
+        verify(commentRepository, times(2)).findRoots(eq(1L), any());
+    }
 
-        when(commentMapper.toDto(root)).thenReturn(CommentResponseDto.builder().id(10L).build());
+    @Test
+    void getCommentsForItemAfter_continuesFromCursorWithoutCounting() {
+        Item item = Item.builder().id(1L).build();
+        Comment first = comment(10L, item, null);
+        Comment second = comment(11L, item, null);
+        Comment extra = comment(12L, item, null);
+        CommentCursor position = new CommentCursor(LocalDateTime.of(2026, 1, 1, 12, 0), 9L);
+
+        when(reportRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootsAfter(eq(1L), eq(position.createdAt()), eq(9L), any()))
+                .thenReturn(List.of(first, second, extra));
+        when(commentMapper.toDto(any(Comment.class)))
+                .thenAnswer(invocation -> CommentResponseDto.builder().id(invocation.<Comment>getArgument(0).getId()).build());
+
+        CommentPage result = service.getCommentsForItemAfter(1L, position.encode(), 2);
+
+        assertThat(result.items()).extracting(CommentResponseDto::getId).containsExactly(10L, 11L);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(CommentCursor.decode(result.next())).isEqualTo(new CommentCursor(second.getCreatedAt(), 11L));
+        assertThat(result.totalItems()).isEqualTo(-1);
+        verify(commentRepository).findFirstReplies(List.of(10L, 11L), 4L);
+        verify(commentRepository, never()).findRoots(any(), any());
+    }
+
+    @Test
+    void getCommentsForItemAfter_rejectsInvalidCursor() {
+        assertThatThrownBy(() -> service.getCommentsForItemAfter(1L, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void getReplies_pagesDirectRepliesOfTheComment() {
+        Item item = Item.builder().id(1L).build();
+        Comment parent = comment(10L, item, null);
+        Comment reply = comment(11L, item, parent);
+
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+        when(commentRepository.findRepliesFirst(eq(10L), any())).thenReturn(List.of(reply));
         when(commentMapper.toDto(reply)).thenReturn(CommentResponseDto.builder().id(11L).build());
 
-        CommentPage result = service.getCommentsForItem(1L, 0, 10);
+        CommentPage result = service.getReplies(1L, 10L, "", 20);
 
-        assertThat(result.items()).hasSize(1);
-        assertThat(result.items().get(0).getReplies()).hasSize(1);
-        assertThat(result.totalItems()).isEqualTo(1);
+        assertThat(result.items()).extracting(CommentResponseDto::getId).containsExactly(11L);
+        assertThat(result.hasNext()).isFalse();
+        assertThat(result.next()).isNull();
+    }
+
+    @Test
+    void getReplies_rejectsCommentFromAnotherItem() {
+        Comment parent = comment(10L, Item.builder().id(2L).build(), null);
+        when(commentRepository.findById(10L)).thenReturn(Optional.of(parent));
+
+        assertThatThrownBy(() -> service.getReplies(1L, 10L, null, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("does not belong");
     }
 
     @Test
     void getCommentsForItem_rejectsMissingItem() {
-        when(reportRepository.findById(99L)).thenReturn(Optional.empty());
+        when(reportRepository.existsById(99L)).thenReturn(false);
 
         assertThatThrownBy(() -> service.getCommentsForItem(99L, 0, 10))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -93,69 +193,65 @@ class CommentServiceImplTest {
     @Test
     void addComment_createsReply() {
         Item item = Item.builder().id(1L).build();
-        Comment parent = Comment.builder().id(5L).item(item).build();
+        Comment parent = Comment.builder().id(5L).item(item).depth(1).path("/4/").build();
         Comment saved = Comment.builder().id(6L).item(item).parent(parent).text("hi").build();
 
         when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
         when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(reporter));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
         when(commentRepository.save(any(Comment.class))).thenReturn(saved);
         when(commentMapper.toDto(saved)).thenReturn(CommentResponseDto.builder().id(6L).build());
 
         CommentResponseDto result = service.addComment(1L, new CommentRequestDto("hi", 5L), principal);
 
         assertThat(result.getId()).isEqualTo(6L);
+        ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(captor.capture());
+        assertThat(captor.getValue().getDepth()).isEqualTo(2);
+        assertThat(captor.getValue().getPath()).isEqualTo("/4/5/");
+        verify(commentRepository).incrementReplyCount(5L);
     }
 
     @Test
-    void addComment_rejectsParentFromDifferentItem() {
+    void addComment_rejectsRepliesBeyondMaxDepth() {
         Item item = Item.builder().id(1L).build();
-        Item otherItem = Item.builder().id(2L).build();
-        Comment parent = Comment.builder().id(5L).item(otherItem).build();
+        Comment parent = Comment.builder().id(5L).item(item).depth(Comment.MAX_DEPTH).build();
 
         when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
         when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(reporter));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
 
         assertThatThrownBy(() -> service.addComment(1L, new CommentRequestDto("hi", 5L), principal))
                 .isInstanceOf(IllegalArgumentException.class)
-                .hasMessageContaining("Parent comment does not belong");
+                .hasMessageContaining("nested");
+        verify(commentRepository, never()).save(any());
     }
 
     @Test
-    void reportComment_deletesAfterThreeReports() {
+    void addComment_rejectsParentFromDifferentItem() {
         Item item = Item.builder().id(1L).build();
-        Comment comment = Comment.builder().id(2L).item(item).build();
+        Item otherItem = Item.builder().id(2L).build();
+        Comment parent = Comment.builder().id(5L).item(otherItem).build();
 
         when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(reporter));
-        when(commentReportRepository.existsByCommentIdAndReporterId(2L, 1L)).thenReturn(false);
-        when(commentReportRepository.countByCommentId(2L)).thenReturn(3L);
-
-        service.reportComment(1L, 2L, "spam", principal);
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
 
-        verify(commentRepository).deleteByParentId(2L);
-        verify(commentReportRepository).deleteByCommentId(2L);
-        verify(commentRepository).deleteById(2L);
+        assertThatThrownBy(() -> service.addComment(1L, new CommentRequestDto("hi", 5L), principal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Parent comment does not belong");
     }
 
     @Test
-    void reportComment_doesNotDeleteBeforeThreshold() {
-        Item item = Item.builder().id(1L).build();
-        Comment comment = Comment.builder().id(2L).item(item).build();
+    void reportComment_onlyInsertsTheReport() {
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(commentReportRepository.insertIfAbsent(eq(1L), eq(2L), eq(1L), eq("spam"), any())).thenReturn(1);
 
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(reporter));
-        when(commentReportRepository.existsByCommentIdAndReporterId(2L, 1L)).thenReturn(false);
-        when(commentReportRepository.countByCommentId(2L)).thenReturn(2L);
+        service.reportComment(1L, 2L, " spam ", principal);
 
-        service.reportComment(1L, 2L, "spam", principal);
-
-        verify(commentRepository, never()).deleteByParentId(2L);
-        verify(commentReportRepository, never()).deleteByCommentId(2L);
-        verify(commentRepository, never()).deleteById(2L);
+        verify(commentReportRepository).insertIfAbsent(eq(1L), eq(2L), eq(1L), eq("spam"), any());
+        verify(commentRepository, never()).deleteById(any());
+        verifyNoInteractions(reportRepository);
     }
 
     @Test
@@ -163,10 +259,10 @@ class CommentServiceImplTest {
         Item item = Item.builder().id(1L).build();
         Comment comment = Comment.builder().id(2L).item(item).build();
 
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(commentReportRepository.insertIfAbsent(eq(1L), eq(2L), eq(1L), eq("spam"), any())).thenReturn(0);
+        when(reportRepository.existsById(1L)).thenReturn(true);
         when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
-        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(reporter));
-        when(commentReportRepository.existsByCommentIdAndReporterId(2L, 1L)).thenReturn(true);
 
         assertThatThrownBy(() -> service.reportComment(1L, 2L, "spam", principal))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -182,7 +278,8 @@ class CommentServiceImplTest {
 
     @Test
     void reportComment_rejectsMissingItem() {
-        when(reportRepository.findById(1L)).thenReturn(Optional.empty());
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(reportRepository.existsById(1L)).thenReturn(false);
 
         assertThatThrownBy(() -> service.reportComment(1L, 2L, "spam", principal))
                 .isInstanceOf(IllegalArgumentException.class)
@@ -191,9 +288,8 @@ class CommentServiceImplTest {
 
     @Test
     void reportComment_rejectsMissingComment() {
-        Item item = Item.builder().id(1L).build();
-
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(reportRepository.existsById(1L)).thenReturn(true);
         when(commentRepository.findById(2L)).thenReturn(Optional.empty());
 
         assertThatThrownBy(() -> service.reportComment(1L, 2L, "spam", principal))
@@ -203,11 +299,11 @@ class CommentServiceImplTest {
 
     @Test
     void reportComment_rejectsCommentFromAnotherItem() {
-        Item item = Item.builder().id(1L).build();
         Item otherItem = Item.builder().id(3L).build();
         Comment comment = Comment.builder().id(2L).item(otherItem).build();
 
-        when(reportRepository.findById(1L)).thenReturn(Optional.of(item));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(reportRepository.existsById(1L)).thenReturn(true);
         when(commentRepository.findById(2L)).thenReturn(Optional.of(comment));
 
         assertThatThrownBy(() -> service.reportComment(1L, 2L, "spam", principal))
@@ -215,6 +311,11 @@ class CommentServiceImplTest {
                 .hasMessageContaining("does not belong");
     }
 
+    private static Comment comment(Long id, Item item, Comment parent) {
+        return Comment.builder().id(id).item(item).parent(parent).text("comment " + id)
+                .createdAt(LocalDateTime.of(2026, 1, 1, 12, 0).plusMinutes(id)).build();
+    }
+
     @Test
     void addComment_rejectsBlankText() {
         assertThatThrownBy(() -> service.addComment(1L, new CommentRequestDto("  ", null), principal))
@@ -0,0 +1,100 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Dto.ModerationActionRequestDto;
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Enumaration.ModerationAction;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import com.nexus.nexus.Moderation.ModerationActions;
+import com.nexus.nexus.Repository.ModerationCaseRepository;
+import com.nexus.nexus.Service.ServiceImplementation.ModerationServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationServiceImplTest {
+
+    @Mock
+    private ModerationCaseRepository moderationCaseRepository;
+
+    @Mock
+    private ModerationActions moderationActions;
+
+    @InjectMocks
+    private ModerationServiceImpl service;
+
+    @Test
+    void applyAction_removesEveryTargetAndClosesTheCases() {
+        ModerationCase item = moderationCase(1L, ModerationTargetType.ITEM, 10L, ModerationState.ACTIONED);
+        ModerationCase comment = moderationCase(2L, ModerationTargetType.COMMENT, 20L, ModerationState.PENDING);
+        when(moderationCaseRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(item, comment));
+
+        int closed = service.applyAction(new ModerationActionRequestDto(List.of(1L, 2L, 2L), ModerationAction.REMOVE));
+
+        assertThat(closed).isEqualTo(2);
+        verify(moderationActions).removeItem(10L);
+        verify(moderationActions).removeComment(20L);
+        assertThat(item.getState()).isEqualTo(ModerationState.REMOVED);
+        assertThat(comment.getState()).isEqualTo(ModerationState.REMOVED);
+    }
+
+    @Test
+    void applyAction_dismissRestoresItemsOnly() {
+        ModerationCase item = moderationCase(1L, ModerationTargetType.ITEM, 10L, ModerationState.ACTIONED);
+        ModerationCase comment = moderationCase(2L, ModerationTargetType.COMMENT, 20L, ModerationState.PENDING);
+        when(moderationCaseRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(item, comment));
+
+        service.applyAction(new ModerationActionRequestDto(List.of(1L, 2L), ModerationAction.DISMISS));
+
+        verify(moderationActions).restoreItem(10L);
+        verifyNoMoreInteractions(moderationActions);
+        assertThat(item.getState()).isEqualTo(ModerationState.DISMISSED);
+        assertThat(comment.getState()).isEqualTo(ModerationState.DISMISSED);
+    }
+
+    @Test
+    void applyAction_rejectsTheWholeBatchIfOneCaseIsClosed() {
+        ModerationCase open = moderationCase(1L, ModerationTargetType.ITEM, 10L, ModerationState.ACTIONED);
+        ModerationCase closed = moderationCase(2L, ModerationTargetType.ITEM, 11L, ModerationState.DISMISSED);
+        when(moderationCaseRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(open, closed));
+
+        assertThatThrownBy(() -> service.applyAction(
+                new ModerationActionRequestDto(List.of(1L, 2L), ModerationAction.REMOVE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already closed");
+        verifyNoInteractions(moderationActions);
+    }
+
+    @Test
+    void applyAction_rejectsUnknownCases() {
+        when(moderationCaseRepository.findAllById(Set.of(1L))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> service.applyAction(
+                new ModerationActionRequestDto(List.of(1L), ModerationAction.REMOVE)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void applyAction_requiresAnAction() {
+        assertThatThrownBy(() -> service.applyAction(new ModerationActionRequestDto(List.of(1L), null)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Action is required");
+        verifyNoInteractions(moderationCaseRepository);
+    }
+
+    private static ModerationCase moderationCase(Long id, ModerationTargetType type, Long targetId,
+                                                 ModerationState state) {
+        return ModerationCase.builder().id(id).targetType(type).targetId(targetId).state(state).build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Cache.TtlCache;
+import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Security.JwtPrincipal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalUserResolverTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private PrincipalUserResolver resolver;
+    private JwtPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new PrincipalUserResolver(userRepository, new TtlCache<>(Duration.ofMinutes(10), 100));
+        principal = new JwtPrincipal(1L, "user@example.com", "User", true, "jti");
+    }
+
+    @Test
+    void resolve_looksUpOnceThenReturnsReference() {
+        User user = User.builder().id(7L).email("user@example.com").build();
+        User reference = User.builder().id(7L).build();
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.getReferenceById(7L)).thenReturn(reference);
+
+        assertThat(resolver.resolve(principal)).isSameAs(user);
+        assertThat(resolver.resolve(principal)).isSameAs(reference);
+        assertThat(resolver.findUserId("user@example.com")).contains(7L);
+
+        verify(userRepository, times(1)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void resolve_createsMissingUser() {
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            saved.setId(9L);
+            return saved;
+        });
+
+        User user = resolver.resolve(principal);
+
+        assertThat(user.getFullName()).isEqualTo("User");
+        assertThat(resolver.findUserId("user@example.com")).contains(9L);
+    }
+
+    @Test
+    void resolve_cachesCreatedUserOnlyOnceCommitted() {
+        TtlCache<String, Long> cache = new TtlCache<>(Duration.ofMinutes(10), 100);
+        resolver = new PrincipalUserResolver(userRepository, cache);
+        when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.empty());
+        when(userRepository.save(any(User.class))).thenAnswer(inv -> {
+            User saved = inv.getArgument(0);
+            saved.setId(9L);
+            return saved;
+        });
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resolver.resolve(principal);
+            assertThat(cache.get("user@example.com")).isNull();
+        } finally {
+            // Rolled back: the synchronizations are dropped without afterCommit.
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cache.get("user@example.com")).isNull();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resolver.resolve(principal);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cache.get("user@example.com")).isEqualTo(9L);
+    }
+
+    @Test
+    void evict_waitsForCommit() {
+        TtlCache<String, Long> cache = new TtlCache<>(Duration.ofMinutes(10), 100);
+        resolver = new PrincipalUserResolver(userRepository, cache);
+        cache.put("user@example.com", 7L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            resolver.evict("user@example.com");
+            assertThat(cache.get("user@example.com")).isEqualTo(7L);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(cache.get("user@example.com")).isNull();
+    }
+
+    @Test
+    void evict_forcesFreshLookup() {
+        when(userRepository.findByEmail("user@example.com"))
+                .thenReturn(Optional.of(User.builder().id(7L).email("user@example.com").build()));
+        resolver.findUserId("user@example.com");
+
+        resolver.evict("user@example.com");
+        resolver.findUserId("user@example.com");
+
+        verify(userRepository, times(2)).findByEmail("user@example.com");
+    }
+
+    @Test
+    void findUserId_doesNotCreateUsers() {
+        when(userRepository.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+
+        assertThat(resolver.findUserId("nobody@example.com")).isEmpty();
+        verify(userRepository, never()).save(any());
+    }
+}
@@ -1,32 +1,69 @@
 package com.nexus.nexus.Service;
 
+import com.nexus.nexus.Cache.CommentPageCache;
+import com.nexus.nexus.Cache.TtlCache;
+import com.nexus.nexus.Dto.ItemCountsDto;
+import com.nexus.nexus.Dto.ProductListItemDto;
 import com.nexus.nexus.Dto.ProductRequestDto;
 import com.nexus.nexus.Dto.ProductResponseDto;
+import com.nexus.nexus.Dto.UserItemCountsDto;
 import com.nexus.nexus.Entity.Category;
 import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Entity.ItemImage;
 import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Enumaration.ImageVariant;
 import com.nexus.nexus.Enumaration.Status;
 import com.nexus.nexus.Enumaration.TypeOfReport;
+import com.nexus.nexus.Image.ImageNormalizer;
+import com.nexus.nexus.Image.ImageVariantPipeline;
 import com.nexus.nexus.Mapper.ProductMapper;
+import com.nexus.nexus.Moderation.ItemReportCounter;
 import com.nexus.nexus.Repository.CategoryRepository;
+import com.nexus.nexus.Repository.ItemImageRepository;
 import com.nexus.nexus.Repository.ItemReportRepository;
+import com.nexus.nexus.Repository.ItemRow;
 import com.nexus.nexus.Repository.ReportRepository;
-import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Search.ItemGeoIndex;
 import com.nexus.nexus.Security.JwtPrincipal;
 import com.nexus.nexus.Service.ServiceImplementation.ProductServiceImpl;
+import com.nexus.nexus.Stats.ItemCounters;
+import com.nexus.nexus.Storage.BlobStore;
+import com.nexus.nexus.Storage.StoredBlob;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -44,20 +81,53 @@ class ProductServiceImplTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private PrincipalUserResolver principalUserResolver;
 
     @Mock
     private ItemReportRepository itemReportRepository;
 
+    @Mock
+    private ItemReportCounter itemReportCounter;
+
+    @Mock
+    private ItemImageRepository itemImageRepository;
+
+    @Mock
+    private BlobStore blobStore;
+
+    @Mock
+    private ImageNormalizer imageNormalizer;
+
+    @Mock
+    private ImageVariantPipeline imageVariantPipeline;
+
     @Mock
     private ProductMapper productMapper;
 
+    @Mock
+    private ItemGeoIndex itemGeoIndex;
+
+    @Mock
+    private ItemCounters itemCounters;
+
+    @Spy
+    private TtlCache<Long, UserItemCountsDto> userItemCountsCache = new TtlCache<>(Duration.ofSeconds(30), 100);
+
+    @Mock
+    private CommentPageCache commentPageCache;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     @InjectMocks
     private ProductServiceImpl service;
 
     @Captor
     private ArgumentCaptor<Item> itemCaptor;
 
+    @Captor
+    private ArgumentCaptor<Specification<Item>> specCaptor;
+
     private JwtPrincipal principal;
     private User reporter;
     private Category category;
@@ -79,31 +149,94 @@ class ProductServiceImplTest {
     }
 
     @Test
-    void findAllProducts_returnsMappedDtos() {
-        Item item = Item.builder().id(10L).build();
+    void findAllProducts_readsProjectedRowsNewestFirst() {
+        ItemRow row = row(10L, OffsetDateTime.now());
 
-        when(reportRepository.findAllByStatus(eq(Status.ACTIVE), any(org.springframework.data.domain.Pageable.class)))
-                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of(item)));
-        when(productMapper.toListItemDtoList(List.of(item)))
-                .thenReturn(List.of(com.nexus.nexus.Dto.ProductListItemDto.builder().id(10L).build()));
+        when(reportRepository.findRows(anySpec(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
+        when(productMapper.rowsToListItemDtos(List.of(row)))
+                .thenReturn(List.of(ProductListItemDto.builder().id(10L).build()));
 
-        com.nexus.nexus.Service.ProductPage<com.nexus.nexus.Dto.ProductListItemDto> result =
-                service.findAllProducts(0, 10);
+        ProductPage<ProductListItemDto> result = service.findAllProducts(0, 10);
 
         assertThat(result.items()).hasSize(1);
         assertThat(result.items().get(0).getId()).isEqualTo(10L);
-        verify(reportRepository).findAllByStatus(eq(Status.ACTIVE), any(org.springframework.data.domain.Pageable.class));
-        verify(productMapper).toListItemDtoList(List.of(item));
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(reportRepository).findRows(anySpec(), pageable.capture());
+        assertThat(pageable.getValue().getSort().getOrderFor("createdAt").isDescending()).isTrue();
+        verify(reportRepository, never()).findAllByStatus(any(Status.class), any(Pageable.class));
     }
 
     @Test
     void findAllProducts_usesSafePaging() {
-        when(reportRepository.findAllByStatus(eq(Status.ACTIVE), any(org.springframework.data.domain.Pageable.class)))
-                .thenReturn(new org.springframework.data.domain.PageImpl<>(List.of()));
+        when(reportRepository.findRows(anySpec(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
 
-        service.findAllProducts(-1, 0);
+        ProductPage<ProductListItemDto> result = service.findAllProducts(-1, 0);
 
-        verify(reportRepository).findAllByStatus(eq(Status.ACTIVE), any(org.springframework.data.domain.Pageable.class));
+        assertThat(result.page()).isZero();
+        assertThat(result.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findAllProductsAfter_returnsNextCursorWhenMoreRowsExist() {
+        OffsetDateTime newest = OffsetDateTime.parse("2024-05-02T10:00:00Z");
+        ItemRow first = row(9L, newest);
+        ItemRow second = row(8L, newest.minusHours(1));
+        ItemRow extra = row(7L, newest.minusHours(2));
+
+        when(reportRepository.findRows(anySpec(), any(Sort.class), eq(3)))
+                .thenReturn(List.of(first, second, extra));
+        when(productMapper.rowsToListItemDtos(List.of(first, second)))
+                .thenReturn(List.of(
+                        ProductListItemDto.builder().id(9L).build(),
+                        ProductListItemDto.builder().id(8L).build()));
+
+        ProductPage<ProductListItemDto> result = service.findAllProductsAfter("", 2);
+
+        assertThat(result.items()).hasSize(2);
+        assertThat(result.hasNext()).isTrue();
+        assertThat(ProductCursor.decode(result.next()))
+                .isEqualTo(new ProductCursor(second.createdAt(), 8L));
+        verify(reportRepository, never()).count(anySpec());
+    }
+
+    @Test
+    void findAllProductsAfter_continuesFromCursorAndCapsPageSize() {
+        ProductCursor cursor = new ProductCursor(OffsetDateTime.parse("2024-05-02T10:00:00Z"), 8L);
+        when(reportRepository.findRows(anySpec(), any(Sort.class), eq(101)))
+                .thenReturn(List.of());
+        when(productMapper.rowsToListItemDtos(List.of())).thenReturn(List.of());
+
+        ProductPage<ProductListItemDto> result =
+                service.findAllProductsAfter(cursor.encode(), 10_000);
+
+        assertThat(result.size()).isEqualTo(100);
+        assertThat(result.next()).isNull();
+        assertThat(result.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchByLocationAfter_runsLimitedQueryWithoutCount() {
+        Item item = Item.builder().id(3L).createdAt(OffsetDateTime.parse("2024-05-02T10:00:00Z")).build();
+        when(reportRepository.findBy(anySpec(), any()))
+                .thenReturn(List.of(item));
+        when(productMapper.toDtoList(List.of(item)))
+                .thenReturn(List.of(ProductResponseDto.builder().id(3L).build()));
+
+        ProductPage<ProductResponseDto> result = service.searchByLocationAfter(
+                null, null, null, "phone", TypeOfReport.LOST, List.of(2L), null, null, "", 20);
+
+        assertThat(result.items()).hasSize(1);
+        assertThat(result.next()).isNull();
+        verify(reportRepository, never()).count(anySpec());
+    }
+
+    @Test
+    void findAllProductsAfter_rejectsGarbageCursor() {
+        assertThatThrownBy(() -> service.findAllProductsAfter("not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
     }
 
     @Test
@@ -118,7 +251,7 @@ class ProductServiceImplTest {
                 .categoryName("phones")
                 .build();
 
-        when(userRepository.findByEmail(eq("user@example.com"))).thenReturn(Optional.of(reporter));
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
         when(categoryRepository.findByNameIgnoreCase(eq("phones"))).thenReturn(Optional.of(category));
         when(reportRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         when(productMapper.toDto(any(Item.class))).thenReturn(ProductResponseDto.builder().id(1L).build());
@@ -131,6 +264,218 @@ class ProductServiceImplTest {
         assertThat(saved.getName()).isEqualTo("test");
         assertThat(saved.getCategory().getId()).isEqualTo(2L);
         assertThat(saved.getReporter().getEmail()).isEqualTo("user@example.com");
+        verify(itemCounters).onCreated(saved);
+    }
+
+    @Test
+    void addProduct_storesNormalizedImageAndKeepsOnlyTheHash() {
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3};
+        ProductRequestDto request = ProductRequestDto.builder()
+                .name("test")
+                .type(TypeOfReport.FOUND)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.3"))
+                .categoryName("phones")
+                .image("data:image/png;base64," + Base64.getEncoder().encodeToString(png))
+                .build();
+
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(categoryRepository.findByNameIgnoreCase(eq("phones"))).thenReturn(Optional.of(category));
+        when(reportRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        byte[] normalized = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        when(imageNormalizer.normalize(any())).thenAnswer(inv -> {
+            assertThat(((InputStreamSource) inv.getArgument(0)).getInputStream().readAllBytes()).isEqualTo(png);
+            return Optional.of(normalized);
+        });
+        when(blobStore.put(normalized)).thenReturn("hash");
+
+        service.addProduct(request, principal);
+
+        verify(reportRepository).save(itemCaptor.capture());
+        assertThat(itemCaptor.getValue().getImageHash()).isEqualTo("hash");
+        verify(imageVariantPipeline).submit(any(), eq("hash"));
+        verifyNoInteractions(itemImageRepository);
+    }
+
+    @Test
+    void addProduct_rejectsUploadsThatAreNotImages() {
+        ProductRequestDto request = ProductRequestDto.builder()
+                .name("test")
+                .type(TypeOfReport.FOUND)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.3"))
+                .categoryName("phones")
+                .build();
+        ByteArrayResource upload = new ByteArrayResource("<svg onload=alert(1)>".getBytes());
+
+        assertThatThrownBy(() -> service.addProduct(request, upload, principal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported image format");
+
+        verifyNoInteractions(blobStore);
+        verify(reportRepository, never()).save(any(Item.class));
+    }
+
+    @Test
+    void addProduct_streamsWebpUploadIntoBlobStoreUnchanged() throws Exception {
+        ProductRequestDto request = ProductRequestDto.builder()
+                .name("test")
+                .type(TypeOfReport.FOUND)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.3"))
+                .categoryName("phones")
+                .image("ignored-when-a-file-is-uploaded")
+                .build();
+        byte[] webp = {'R', 'I', 'F', 'F', 0, 0, 0, 0, 'W', 'E', 'B', 'P', 'V', 'P', '8'};
+        ByteArrayResource upload = new ByteArrayResource(webp);
+
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(categoryRepository.findByNameIgnoreCase(eq("phones"))).thenReturn(Optional.of(category));
+        when(reportRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        ArgumentCaptor<InputStream> stored = ArgumentCaptor.forClass(InputStream.class);
+        when(blobStore.put(stored.capture())).thenReturn("streamed");
+
+        service.addProduct(request, upload, principal);
+
+        verify(reportRepository).save(itemCaptor.capture());
+        assertThat(itemCaptor.getValue().getImageHash()).isEqualTo("streamed");
+        assertThat(stored.getValue().readAllBytes()).isEqualTo(webp);
+        verify(blobStore, never()).put(any(byte[].class));
+    }
+
+    @Test
+    void updateProduct_newImageResetsVariantsAndResubmits() {
+        Item item = Item.builder()
+                .id(5L)
+                .reporter(User.builder().email("user@example.com").build())
+                .imageHash("old")
+                .imageSmallHash("old-small")
+                .imageMediumHash("old-medium")
+                .build();
+        byte[] data = {1, 2, 3};
+
+        when(reportRepository.findReporterIdById(5L)).thenReturn(Optional.of(1L));
+        when(principalUserResolver.findUserId("user@example.com")).thenReturn(Optional.of(1L));
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
+        when(reportRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(imageNormalizer.normalize(any())).thenReturn(Optional.of(data));
+        when(blobStore.put(data)).thenReturn("new");
+
+        service.updateProduct(5L, ProductRequestDto.builder()
+                .image(Base64.getEncoder().encodeToString(data))
+                .build(), principal);
+
+        assertThat(item.getImageHash()).isEqualTo("new");
+        assertThat(item.getImageSmallHash()).isNull();
+        assertThat(item.getImageMediumHash()).isNull();
+        verify(imageVariantPipeline).submit(5L, "new");
+    }
+
+    @Test
+    void getProductImage_servesSmallVariantWhenReady(@TempDir Path dir) throws Exception {
+        StoredBlob blob = new StoredBlob("small", Files.write(dir.resolve("small"), new byte[]{1}), 1);
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(
+                Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").imageSmallHash("small").build()));
+        when(blobStore.find("small")).thenReturn(Optional.of(blob));
+
+        ProductImage image = service.getProductImage(3L, ImageVariant.SMALL);
+
+        assertThat(image.hash()).isEqualTo("small");
+        verifyNoInteractions(imageVariantPipeline);
+    }
+
+    @Test
+    void getProductImage_fallsBackToOriginalAndSchedulesMissingVariant(@TempDir Path dir) throws Exception {
+        StoredBlob blob = new StoredBlob("abc", Files.write(dir.resolve("abc"), new byte[]{1}), 1);
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").build()));
+        when(blobStore.find("abc")).thenReturn(Optional.of(blob));
+
+        ProductImage image = service.getProductImage(3L, ImageVariant.MEDIUM);
+
+        assertThat(image.hash()).isEqualTo("abc");
+        verify(imageVariantPipeline).submit(3L, "abc");
+    }
+
+    @Test
+    void getProductImage_servesBlobAndSniffsType(@TempDir Path dir) throws Exception {
+        Path file = Files.write(dir.resolve("abc"), new byte[]{(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x01});
+        StoredBlob blob = new StoredBlob("abc", file, 4);
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").build()));
+        when(blobStore.find("abc")).thenReturn(Optional.of(blob));
+
+        ProductImage image = service.getProductImage(3L, ImageVariant.ORIGINAL);
+
+        assertThat(image.hash()).isEqualTo("abc");
+        assertThat(image.contentType()).isEqualTo("image/jpeg");
+        assertThat(image.blob()).isSameAs(blob);
+        verifyNoInteractions(itemImageRepository);
+    }
+
+    @Test
+    void getProductImage_servesUnknownBytesAsOctetStream(@TempDir Path dir) throws Exception {
+        Path file = Files.write(dir.resolve("abc"), "<svg onload=alert(1)>".getBytes(StandardCharsets.UTF_8));
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").build()));
+        when(blobStore.find("abc")).thenReturn(Optional.of(new StoredBlob("abc", file, Files.size(file))));
+
+        ProductImage image = service.getProductImage(3L, ImageVariant.ORIGINAL);
+
+        assertThat(image.contentType()).isEqualTo("application/octet-stream");
+    }
+
+    @Test
+    void getProductImage_copiesLegacyRowIntoBlobStoreOnMiss(@TempDir Path dir) throws Exception {
+        byte[] data = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        StoredBlob blob = new StoredBlob("abc", Files.write(dir.resolve("abc"), data), 3);
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").build()));
+        when(blobStore.find("abc")).thenReturn(Optional.empty()).thenReturn(Optional.of(blob));
+        when(itemImageRepository.findById("abc"))
+                .thenReturn(Optional.of(ItemImage.builder().hash("abc").data(data).contentLength(3L).build()));
+        when(blobStore.put(data)).thenReturn("abc");
+
+        ProductImage image = service.getProductImage(3L, ImageVariant.ORIGINAL);
+
+        assertThat(image.blob()).isSameAs(blob);
+        verify(blobStore).put(data);
+    }
+
+    @Test
+    void getProductImage_leavesLegacyRowsThatAreNotImagesOutOfTheBlobStore() {
+        byte[] data = "<html>".getBytes(StandardCharsets.UTF_8);
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).imageHash("abc").build()));
+        when(blobStore.find("abc")).thenReturn(Optional.empty());
+        when(itemImageRepository.findById("abc"))
+                .thenReturn(Optional.of(ItemImage.builder().hash("abc").data(data).contentLength(6L).build()));
+
+        assertThatThrownBy(() -> service.getProductImage(3L, ImageVariant.ORIGINAL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Product has no image");
+
+        verify(blobStore, never()).put(any(byte[].class));
+    }
+
+    @Test
+    void getProductImage_hidesImagesOfItemsThatAreNotActive() {
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(
+                Item.builder().id(3L).status(Status.REPORTED).imageHash("abc").build()));
+
+        assertThatThrownBy(() -> service.getProductImage(3L, ImageVariant.ORIGINAL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Product not found");
+
+        verifyNoInteractions(blobStore, itemImageRepository);
+    }
+
+    @Test
+    void getProductImage_rejectsItemWithoutImage() {
+        when(reportRepository.findById(3L)).thenReturn(Optional.of(Item.builder().id(3L).status(Status.ACTIVE).build()));
+
+        assertThatThrownBy(() -> service.getProductImage(3L, ImageVariant.ORIGINAL))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no image");
+        verifyNoInteractions(blobStore);
     }
 
     @Test
@@ -140,13 +485,79 @@ class ProductServiceImplTest {
                 .reporter(User.builder().email("other@example.com").build())
                 .build();
 
-        when(reportRepository.findById(5L)).thenReturn(Optional.of(item));
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> service.updateProduct(5L, ProductRequestDto.builder().build(), principal))
                 .isInstanceOf(SecurityException.class)
                 .hasMessageContaining("not authorized");
     }
 
+    @Test
+    void updateProduct_checksOwnershipBeforeStoringTheImage() {
+        when(reportRepository.findReporterIdById(5L)).thenReturn(Optional.of(2L));
+        when(principalUserResolver.findUserId("user@example.com")).thenReturn(Optional.of(1L));
+
+        assertThatThrownBy(() -> service.updateProduct(5L, ProductRequestDto.builder()
+                .image(Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}))
+                .build(), principal))
+                .isInstanceOf(SecurityException.class)
+                .hasMessageContaining("not authorized");
+
+        verifyNoInteractions(imageNormalizer, blobStore);
+        verify(reportRepository, never()).findWithDetailsById(any());
+    }
+
+    @Test
+    void updateProduct_deletesTheStoredImageWhenTheUpdateFails() {
+        Item item = Item.builder()
+                .id(5L)
+                .reporter(User.builder().email("user@example.com").build())
+                .build();
+        byte[] data = {1, 2, 3};
+
+        when(reportRepository.findReporterIdById(5L)).thenReturn(Optional.of(1L));
+        when(principalUserResolver.findUserId("user@example.com")).thenReturn(Optional.of(1L));
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
+        when(categoryRepository.findById(9L)).thenReturn(Optional.empty());
+        when(imageNormalizer.normalize(any())).thenReturn(Optional.of(data));
+        when(blobStore.put(data)).thenReturn("new");
+        when(reportRepository.isImageReferenced("new")).thenReturn(false);
+
+        assertThatThrownBy(() -> service.updateProduct(5L, ProductRequestDto.builder()
+                .categoryId(9L)
+                .image(Base64.getEncoder().encodeToString(data))
+                .build(), principal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category not found");
+
+        verify(blobStore).delete("new");
+    }
+
+    @Test
+    void addProduct_keepsAStoredImageOtherItemsShareWhenTheInsertFails() {
+        ProductRequestDto request = ProductRequestDto.builder()
+                .name("test")
+                .type(TypeOfReport.FOUND)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.3"))
+                .categoryId(9L)
+                .image(Base64.getEncoder().encodeToString(new byte[]{1, 2, 3}))
+                .build();
+
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(categoryRepository.findById(9L)).thenReturn(Optional.empty());
+        when(imageNormalizer.normalize(any())).thenReturn(Optional.of(new byte[]{1, 2, 3}));
+        when(blobStore.put(any(byte[].class))).thenReturn("shared");
+        when(reportRepository.isImageReferenced("shared")).thenReturn(true);
+
+        assertThatThrownBy(() -> service.addProduct(request, principal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Category not found");
+
+        verify(blobStore, never()).delete(any());
+    }
+
     @Test
     void updateProduct_updatesFieldsForOwner() {
         Item item = Item.builder()
@@ -163,7 +574,7 @@ class ProductServiceImplTest {
                 .status(Status.DELIVERED)
                 .build();
 
-        when(reportRepository.findById(5L)).thenReturn(Optional.of(item));
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
         when(reportRepository.save(any(Item.class))).thenAnswer(inv -> inv.getArgument(0));
         when(productMapper.toDto(any(Item.class))).thenReturn(ProductResponseDto.builder().id(5L).build());
 
@@ -177,84 +588,107 @@ class ProductServiceImplTest {
 
     @Test
     void reportItem_rejectsDuplicateReport() {
-        Item item = Item.builder()
-                .id(7L)
-                .reportedCounts(1)
-                .build();
-
-        when(reportRepository.findById(7L)).thenReturn(Optional.of(item));
-        when(userRepository.findByEmail(eq("user@example.com"))).thenReturn(Optional.of(reporter));
-        when(itemReportRepository.existsByItemIdAndReporterId(7L, 1L)).thenReturn(true);
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(itemReportRepository.insertIfAbsent(eq(7L), eq(1L), anyString(), any())).thenReturn(0);
+        when(reportRepository.existsById(7L)).thenReturn(true);
 
         assertThatThrownBy(() -> service.reportItem(7L, principal))
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("already reported");
+        verifyNoInteractions(itemReportCounter);
     }
 
     @Test
-    void reportItem_updatesReportedCountsAndStatus() {
-        Item item = Item.builder()
-                .id(7L)
-                .reportedCounts(1)
-                .build();
+    void reportItem_rejectsMissingItem() {
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(itemReportRepository.insertIfAbsent(eq(7L), eq(1L), anyString(), any())).thenReturn(0);
+        when(reportRepository.existsById(7L)).thenReturn(false);
 
-        when(reportRepository.findById(7L)).thenReturn(Optional.of(item));
-        when(userRepository.findByEmail(eq("user@example.com"))).thenReturn(Optional.of(reporter));
-        when(itemReportRepository.existsByItemIdAndReporterId(7L, 1L)).thenReturn(false);
-        when(itemReportRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(itemReportRepository.countByItemId(7L)).thenReturn(3L);
+        assertThatThrownBy(() -> service.reportItem(7L, principal))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Item not found");
+    }
+
+    @Test
+    void reportItem_insertsTheReportAndCountsIt() {
+        when(principalUserResolver.resolve(principal)).thenReturn(reporter);
+        when(itemReportRepository.insertIfAbsent(eq(7L), eq(1L), anyString(), any())).thenReturn(1);
 
         service.reportItem(7L, principal);
 
-        assertThat(item.getReportedCounts()).isEqualTo(3);
-        assertThat(item.getStatus()).isEqualTo(Status.REPORTED);
-        verify(reportRepository).save(item);
+        verify(itemReportRepository).insertIfAbsent(eq(7L), eq(1L), anyString(), any());
+        verify(itemReportCounter).countReport(7L);
+        verifyNoInteractions(reportRepository);
     }
 
     @Test
-    void reportItem_updatesReportedCountsWithoutChangingStatus() {
-        Item item = Item.builder()
-                .id(7L)
-                .reportedCounts(1)
-                .status(Status.ACTIVE)
+    void getItemCounts_servesInMemoryCounters() {
+        ItemCountsDto snapshot = ItemCountsDto.builder()
+                .todayReported(2L)
+                .allReported(10L)
+                .returned(4L)
                 .build();
+        when(itemCounters.snapshot()).thenReturn(snapshot);
 
-        when(reportRepository.findById(7L)).thenReturn(Optional.of(item));
-        when(userRepository.findByEmail(eq("user@example.com"))).thenReturn(Optional.of(reporter));
-        when(itemReportRepository.existsByItemIdAndReporterId(7L, 1L)).thenReturn(false);
-        when(itemReportRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
-        when(itemReportRepository.countByItemId(7L)).thenReturn(2L);
+        ItemCountsDto counts = service.getItemCounts();
 
-        service.reportItem(7L, principal);
+        assertThat(counts).isSameAs(snapshot);
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void getUserItemCounts_usesReporterId() {
+        when(principalUserResolver.findUserId("user@example.com")).thenReturn(Optional.of(1L));
+        when(reportRepository.countByReporters(List.of(1L))).thenReturn(List.of(
+                reporterCount(1L, TypeOfReport.FOUND, Status.ACTIVE, 3L),
+                reporterCount(1L, TypeOfReport.FOUND, Status.DELIVERED, 2L),
+                reporterCount(1L, TypeOfReport.LOST, Status.ACTIVE, 2L)));
 
-        assertThat(item.getReportedCounts()).isEqualTo(2);
-        assertThat(item.getStatus()).isEqualTo(Status.ACTIVE);
-        verify(reportRepository).save(item);
+        UserItemCountsDto counts = service.getUserItemCounts(principal);
+
+        assertThat(counts.getUserId()).isEqualTo(1L);
+        assertThat(counts.getFoundReported()).isEqualTo(5L);
+        assertThat(counts.getLostReported()).isEqualTo(2L);
+        assertThat(counts.getActive()).isEqualTo(5L);
+        assertThat(counts.getDelivered()).isEqualTo(2L);
     }
 
     @Test
-    void getItemCounts_returnsAggregates() {
-        when(reportRepository.countByCreatedAtBetween(any(), any())).thenReturn(2L);
-        when(reportRepository.count()).thenReturn(10L);
-        when(reportRepository.countByStatus(Status.DELIVERED)).thenReturn(4L);
+    void getUserItemCounts_unknownCallerHasNoItems() {
+        when(principalUserResolver.findUserId("user@example.com")).thenReturn(Optional.empty());
 
-        com.nexus.nexus.Dto.ItemCountsDto counts = service.getItemCounts(java.time.ZoneId.of("UTC"));
+        UserItemCountsDto counts = service.getUserItemCounts(principal);
 
-        assertThat(counts.getTodayReported()).isEqualTo(2L);
-        assertThat(counts.getAllReported()).isEqualTo(10L);
-        assertThat(counts.getReturned()).isEqualTo(4L);
+        assertThat(counts.getFoundReported()).isZero();
+        verify(principalUserResolver, never()).resolve(any());
+        verifyNoInteractions(reportRepository);
     }
 
     @Test
-    void getUserItemCounts_usesReporterId() {
-        when(userRepository.findByEmail(eq("user@example.com"))).thenReturn(Optional.of(reporter));
-        when(reportRepository.countByReporter_IdAndType(1L, TypeOfReport.FOUND)).thenReturn(5L);
-        when(reportRepository.countByReporter_IdAndType(1L, TypeOfReport.LOST)).thenReturn(2L);
+    void getUsersItemCounts_groupsInOneQueryAndCachesResults() {
+        when(reportRepository.countByReporters(List.of(1L, 2L))).thenReturn(List.of(
+                reporterCount(2L, TypeOfReport.LOST, Status.ACTIVE, 4L)));
 
-        com.nexus.nexus.Dto.UserItemCountsDto counts = service.getUserItemCounts(principal);
+        List<UserItemCountsDto> first = service.getUsersItemCounts(List.of(1L, 2L, 1L));
 
-        assertThat(counts.getFoundReported()).isEqualTo(5L);
-        assertThat(counts.getLostReported()).isEqualTo(2L);
+        assertThat(first).extracting(UserItemCountsDto::getUserId).containsExactly(1L, 2L);
+        assertThat(first.get(0).getLostReported()).isZero();
+        assertThat(first.get(1).getLostReported()).isEqualTo(4L);
+
+        when(reportRepository.countByReporters(List.of(3L))).thenReturn(List.of());
+        List<UserItemCountsDto> second = service.getUsersItemCounts(List.of(2L, 3L));
+
+        assertThat(second.get(0)).isSameAs(first.get(1));
+        verify(reportRepository).countByReporters(List.of(3L));
+    }
+
+    @Test
+    void getUsersItemCounts_rejectsOversizedBatch() {
+        List<Long> ids = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        assertThatThrownBy(() -> service.getUsersItemCounts(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("At most 100");
     }
 
     @Test
@@ -264,6 +698,118 @@ class ProductServiceImplTest {
                 .hasMessageContaining("lat, lon, and radiusKm");
     }
 
+    @Test
+    void searchByLocation_returnsEmptyPageWhenNothingIsNearby() {
+        when(itemGeoIndex.findWithinRadius(35.7, 51.3, 1.0)).thenReturn(List.of());
+
+        ProductPage<ProductResponseDto> result =
+                service.searchByLocation(35.7, 51.3, 1.0, null, null, null, null, null, 0, 10);
+
+        assertThat(result.items()).isEmpty();
+        assertThat(result.totalItems()).isZero();
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    void searchByLocation_filtersByIdsFromGeoIndex() {
+        Item item = Item.builder().id(3L).build();
+        when(itemGeoIndex.findWithinRadius(35.7, 51.3, 1.0)).thenReturn(List.of(3L));
+        when(reportRepository.findAll(anySpec(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(item)));
+        when(productMapper.toDtoList(List.of(item)))
+                .thenReturn(List.of(ProductResponseDto.builder().id(3L).build()));
+
+        ProductPage<ProductResponseDto> result =
+                service.searchByLocation(35.7, 51.3, 1.0, null, null, null, null, null, 0, 10);
+
+        assertThat(result.items()).extracting(ProductResponseDto::getId).containsExactly(3L);
+    }
+
+    @Test
+    void searchByLocation_fallsBackToBoundingBoxWhenTooManyItemsAreNearby() {
+        // One more than ProductServiceImpl.MAX_NEARBY_IDS
+        List<Long> nearby = LongStream.rangeClosed(1, 10_001)
+                .boxed()
+                .toList();
+        when(itemGeoIndex.findWithinRadius(35.7, 51.3, 500.0)).thenReturn(nearby);
+        when(reportRepository.findAll(specCaptor.capture(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of()));
+        when(productMapper.toDtoList(List.of())).thenReturn(List.of());
+
+        service.searchByLocation(35.7, 51.3, 500.0, null, null, null, null, null, 0, 10);
+
+        Root<Item> root = mock(RETURNS_DEEP_STUBS);
+        CriteriaQuery<?> query = mock();
+        CriteriaBuilder cb = mock();
+        specCaptor.getValue().toPredicate(root, query, cb);
+        verify(root).get("latitude");
+        verify(root).get("longitude");
+        verify(root, never()).get("id");
+    }
+
+    @Test
+    void deleteProduct_removesItemFromGeoIndexAndCounters() {
+        Item item = Item.builder()
+                .id(5L)
+                .reporter(User.builder().email("user@example.com").build())
+                .build();
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
+
+        service.deleteProduct(5L, principal);
+
+        verify(reportRepository).delete(item);
+        verify(itemGeoIndex).remove(5L);
+        verify(itemCounters).onDeleted(item);
+    }
+
+    @Test
+    void deleteProduct_invalidatesOwnerCountsOnlyAfterCommit() {
+        Item item = Item.builder()
+                .id(5L)
+                .reporter(User.builder().id(3L).email("user@example.com").build())
+                .build();
+        when(reportRepository.findWithDetailsById(5L)).thenReturn(Optional.of(item));
+        UserItemCountsDto counts = UserItemCountsDto.builder().userId(3L).build();
+        userItemCountsCache.put(3L, counts);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.deleteProduct(5L, principal);
+            assertThat(userItemCountsCache.get(3L)).isSameAs(counts);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(userItemCountsCache.get(3L)).isNull();
+    }
+
+    @Test
+    void searchByText_keepsRelevanceOrder() {
+        ItemRow best = row(4L, OffsetDateTime.now());
+        ItemRow second = row(2L, OffsetDateTime.now());
+        when(reportRepository.searchIdsByText(eq("black wallet"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(4L, 2L)));
+        when(reportRepository.findRows(anySpec(), any(Sort.class), eq(2)))
+                .thenReturn(List.of(second, best));
+        when(productMapper.rowsToListItemDtos(List.of(best, second)))
+                .thenReturn(List.of(
+                        ProductListItemDto.builder().id(4L).build(),
+                        ProductListItemDto.builder().id(2L).build()));
+
+        ProductPage<ProductListItemDto> result = service.searchByText(" black wallet ", 0, 20);
+
+        assertThat(result.items()).extracting(ProductListItemDto::getId).containsExactly(4L, 2L);
+        verify(productMapper).rowsToListItemDtos(List.of(best, second));
+        verify(reportRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void searchByText_rejectsBlankQuery() {
+        assertThatThrownBy(() -> service.searchByText("  ", 0, 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Search query is required");
+    }
+
     @Test
     void addProduct_rejectsMissingName() {
         ProductRequestDto request = ProductRequestDto.builder()
@@ -278,4 +824,38 @@ class ProductServiceImplTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Name is required");
     }
+
+    private static ReportRepository.ReporterItemCount reporterCount(Long reporterId, TypeOfReport type, Status status,
+                                                                    long total) {
+        return new ReportRepository.ReporterItemCount() {
+            @Override
+            public Long getReporterId() {
+                return reporterId;
+            }
+
+            @Override
+            public TypeOfReport getType() {
+                return type;
+            }
+
+            @Override
+            public Status getStatus() {
+                return status;
+            }
+
+            @Override
+            public long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private static ItemRow row(Long id, OffsetDateTime createdAt) {
+        return new ItemRow(id, TypeOfReport.FOUND, "item", null, Status.ACTIVE, null, null, null, null,
+                createdAt, createdAt, 2L, "phones", 1L, "user@example.com", "User", createdAt, true);
+    }
+
+    private static Specification<Item> anySpec() {
+        return any();
+    }
 }
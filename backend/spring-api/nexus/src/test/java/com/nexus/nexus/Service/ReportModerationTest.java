@@ -0,0 +1,245 @@
+package com.nexus.nexus.Service;
+
+import com.nexus.nexus.Dto.CommentRequestDto;
+import com.nexus.nexus.Dto.CommentResponseDto;
+import com.nexus.nexus.Dto.ModerationActionRequestDto;
+import com.nexus.nexus.Entity.Category;
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Entity.ModerationCase;
+import com.nexus.nexus.Entity.User;
+import com.nexus.nexus.Enumaration.ModerationAction;
+import com.nexus.nexus.Enumaration.ModerationState;
+import com.nexus.nexus.Enumaration.ModerationTargetType;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Enumaration.TypeOfReport;
+import com.nexus.nexus.Moderation.ModerationWorker;
+import com.nexus.nexus.Repository.CategoryRepository;
+import com.nexus.nexus.Repository.CommentRepository;
+import com.nexus.nexus.Repository.ItemReportRepository;
+import com.nexus.nexus.Repository.ModerationCaseRepository;
+import com.nexus.nexus.Repository.ReportRepository;
+import com.nexus.nexus.Repository.UserRepository;
+import com.nexus.nexus.Security.JwtPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class ReportModerationTest {
+
+    private static final int REPORTERS = 24;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private ModerationService moderationService;
+
+    @Autowired
+    private ModerationWorker moderationWorker;
+
+    @Autowired
+    private ReportRepository reportRepository;
+
+    @Autowired
+    private ItemReportRepository itemReportRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ModerationCaseRepository moderationCaseRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    void parallelReportsAreAllCountedFlagTheItemAndOpenOneCase() throws Exception {
+        Item item = newItem();
+        long reportsBefore = itemReportRepository.count();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < REPORTERS; i++) {
+            JwtPrincipal reporter = newPrincipal("reporter-" + i + "-" + item.getId());
+            // Every reporter tries twice; only the first attempt may count.
+            for (int attempt = 0; attempt < 2; attempt++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        productService.reportItem(item.getId(), reporter);
+                    } catch (IllegalArgumentException e) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(rejected.get()).isEqualTo(REPORTERS);
+        assertThat(itemReportRepository.count() - reportsBefore).isEqualTo(REPORTERS);
+        // Every report is counted as it is filed, and the one reaching the threshold flags the item.
+        Item reloaded = reportRepository.findById(item.getId()).orElseThrow();
+        assertThat(reloaded.getReportedCounts()).isEqualTo(REPORTERS);
+        assertThat(reloaded.getStatus()).isEqualTo(Status.REPORTED);
+
+        moderationWorker.run();
+        moderationWorker.run();
+
+        assertThat(caseFor(ModerationTargetType.ITEM, item.getId()).getState()).isEqualTo(ModerationState.ACTIONED);
+    }
+
+    @Test
+    void dismissingACaseRestoresTheItem() {
+        Item item = newItem();
+        for (int i = 0; i < 3; i++) {
+            productService.reportItem(item.getId(), newPrincipal("dismiss-" + i + "-" + item.getId()));
+        }
+        moderationWorker.run();
+        ModerationCase moderationCase = caseFor(ModerationTargetType.ITEM, item.getId());
+        assertThat(reportRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(Status.REPORTED);
+
+        ModerationActionRequestDto dismiss = new ModerationActionRequestDto(List.of(moderationCase.getId()),
+                ModerationAction.DISMISS);
+        assertThat(moderationService.applyAction(dismiss)).isEqualTo(1);
+
+        assertThat(reportRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(caseFor(ModerationTargetType.ITEM, item.getId()).getState()).isEqualTo(ModerationState.DISMISSED);
+        assertThatThrownBy(() -> moderationService.applyAction(dismiss))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already closed");
+    }
+
+    @Test
+    void aDismissalHoldsUntilTheThresholdIsReachedAgain() {
+        Item item = newItem();
+        for (int i = 0; i < 3; i++) {
+            productService.reportItem(item.getId(), newPrincipal("reopen-" + i + "-" + item.getId()));
+        }
+        moderationWorker.run();
+        ModerationCase moderationCase = caseFor(ModerationTargetType.ITEM, item.getId());
+        moderationService.applyAction(new ModerationActionRequestDto(List.of(moderationCase.getId()),
+                ModerationAction.DISMISS));
+
+        // One late report does not overturn the admin's decision.
+        productService.reportItem(item.getId(), newPrincipal("reopen-late-0-" + item.getId()));
+        moderationWorker.run();
+        assertThat(reportRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(Status.ACTIVE);
+        assertThat(caseFor(ModerationTargetType.ITEM, item.getId()).getState()).isEqualTo(ModerationState.DISMISSED);
+
+        for (int i = 1; i < 3; i++) {
+            productService.reportItem(item.getId(), newPrincipal("reopen-late-" + i + "-" + item.getId()));
+        }
+        moderationWorker.run();
+
+        assertThat(reportRepository.findById(item.getId()).orElseThrow().getStatus()).isEqualTo(Status.REPORTED);
+        ModerationCase reopened = caseFor(ModerationTargetType.ITEM, item.getId());
+        assertThat(reopened.getId()).isEqualTo(moderationCase.getId());
+        assertThat(reopened.getState()).isEqualTo(ModerationState.ACTIONED);
+    }
+
+    @Test
+    void workerRemovesACommentAndItsRepliesOnceItReachesTheThreshold() {
+        Item item = newItem();
+        JwtPrincipal author = newPrincipal("thread-" + item.getId());
+        CommentResponseDto root = addComment(item, "found it near the station", null, author);
+        CommentResponseDto kept = addComment(item, "thanks!", root.getId(), author);
+        CommentResponseDto comment = addComment(item, "buy cheap phones", root.getId(),
+                newPrincipal("spammer-" + item.getId()));
+        CommentResponseDto reply = addComment(item, "stop spamming", comment.getId(), author);
+        CommentResponseDto nested = addComment(item, "reported", reply.getId(), author);
+        commentService.reportComment(item.getId(), nested.getId(), "off topic",
+                newPrincipal("nested-flagger-" + item.getId()));
+
+        CommentResponseDto thread = commentService.getCommentsForItem(item.getId(), 0, 10).items().get(0);
+        assertThat(thread.getReplies()).extracting(CommentResponseDto::getId)
+                .containsExactly(kept.getId(), comment.getId());
+        CommentResponseDto replyPreview = commentService.getReplies(item.getId(), comment.getId(), null, 10).items().get(0);
+        assertThat(replyPreview.getReplies()).extracting(CommentResponseDto::getId).containsExactly(nested.getId());
+
+        for (int i = 0; i < 3; i++) {
+            commentService.reportComment(item.getId(), comment.getId(), "spam",
+                    newPrincipal("flagger-" + i + "-" + item.getId()));
+        }
+        assertThat(commentRepository.existsById(comment.getId())).isTrue();
+
+        moderationWorker.run();
+
+        assertThat(commentRepository.existsById(comment.getId())).isFalse();
+        assertThat(commentRepository.existsById(reply.getId())).isFalse();
+        assertThat(commentRepository.existsById(nested.getId())).isFalse();
+        assertThat(caseFor(ModerationTargetType.COMMENT, comment.getId()).getState())
+                .isEqualTo(ModerationState.REMOVED);
+        thread = commentService.getCommentsForItem(item.getId(), 0, 10).items().get(0);
+        assertThat(thread.getReplies()).extracting(CommentResponseDto::getId).containsExactly(kept.getId());
+        assertThat(thread.getReplyCount()).isEqualTo(1);
+    }
+
+    private CommentResponseDto addComment(Item item, String text, Long parentId, JwtPrincipal author) {
+        return commentService.addComment(item.getId(), new CommentRequestDto(text, parentId), author);
+    }
+
+    private ModerationCase caseFor(ModerationTargetType type, Long targetId) {
+        List<ModerationCase> cases = moderationCaseRepository.findAll().stream()
+                .filter(c -> c.getTargetType() == type && c.getTargetId().equals(targetId))
+                .toList();
+        assertThat(cases).hasSize(1);
+        return cases.get(0);
+    }
+
+    private Item newItem() {
+        User owner = newUser("owner-" + System.nanoTime());
+        Category category = categoryRepository.save(Category.builder().name("wallets-" + owner.getId()).build());
+        return reportRepository.save(Item.builder()
+                .name("wallet")
+                .type(TypeOfReport.LOST)
+                .status(Status.ACTIVE)
+                .latitude(new BigDecimal("35.7"))
+                .longitude(new BigDecimal("51.4"))
+                .reporter(owner)
+                .category(category)
+                .createdAt(OffsetDateTime.now())
+                .build());
+    }
+
+    private JwtPrincipal newPrincipal(String name) {
+        User user = newUser(name);
+        return new JwtPrincipal(user.getId(), user.getEmail(), user.getFullName(), true, "jti-" + name);
+    }
+
+    private User newUser(String name) {
+        return userRepository.save(User.builder()
+                .fullName(name)
+                .email(name + "@example.com")
+                .password("secret")
+                .registrationDate(OffsetDateTime.now())
+                .build());
+    }
+}
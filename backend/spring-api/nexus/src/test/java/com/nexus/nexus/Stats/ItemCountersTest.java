@@ -0,0 +1,157 @@
+package com.nexus.nexus.Stats;
+
+import com.nexus.nexus.Dto.ItemCountsDto;
+import com.nexus.nexus.Entity.Item;
+import com.nexus.nexus.Enumaration.Status;
+import com.nexus.nexus.Repository.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemCountersTest {
+
+    private static final ZoneId TEHRAN = ZoneId.of("Asia/Tehran");
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private MutableClock clock;
+    private ItemCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        // 2024-05-01 22:00 in Tehran
+        clock = new MutableClock(Instant.parse("2024-05-01T18:30:00Z"), TEHRAN);
+        counters = new ItemCounters(reportRepository, clock);
+        when(reportRepository.countByCreatedAtBetween(any(), any())).thenReturn(2L);
+        when(reportRepository.count()).thenReturn(10L);
+        when(reportRepository.countByStatus(Status.DELIVERED)).thenReturn(4L);
+    }
+
+    @Test
+    void snapshot_loadsFromDatabaseOnceThenServesFromMemory() {
+        ItemCountsDto first = counters.snapshot();
+        ItemCountsDto second = counters.snapshot();
+
+        assertThat(first.getTodayReported()).isEqualTo(2L);
+        assertThat(first.getAllReported()).isEqualTo(10L);
+        assertThat(first.getReturned()).isEqualTo(4L);
+        assertThat(second.getAllReported()).isEqualTo(10L);
+        verify(reportRepository, times(1)).count();
+    }
+
+    @Test
+    void createDeleteAndStatusChangesAdjustCounters() {
+        counters.snapshot();
+
+        Item delivered = item(Status.DELIVERED, OffsetDateTime.now(clock));
+        counters.onCreated(delivered);
+        counters.onCreated(item(Status.ACTIVE, OffsetDateTime.now(clock)));
+        counters.onStatusChanged(Status.ACTIVE, Status.DELIVERED);
+        counters.onDeleted(delivered);
+        counters.onStatusChanged(Status.ACTIVE, Status.REPORTED);
+
+        ItemCountsDto counts = counters.snapshot();
+        assertThat(counts.getTodayReported()).isEqualTo(3L);
+        assertThat(counts.getAllReported()).isEqualTo(11L);
+        assertThat(counts.getReturned()).isEqualTo(5L);
+    }
+
+    @Test
+    void deletingAnOlderItemDoesNotTouchToday() {
+        counters.snapshot();
+
+        counters.onDeleted(item(Status.ACTIVE, OffsetDateTime.now(clock).minusDays(3)));
+
+        ItemCountsDto counts = counters.snapshot();
+        assertThat(counts.getTodayReported()).isEqualTo(2L);
+        assertThat(counts.getAllReported()).isEqualTo(9L);
+    }
+
+    @Test
+    void todayRollsOverAtTehranMidnight() {
+        counters.snapshot();
+
+        // 2024-05-02 00:30 in Tehran, still 2024-05-01 in UTC
+        clock.instant = Instant.parse("2024-05-01T21:00:00Z");
+        counters.rollover();
+        counters.onCreated(item(Status.ACTIVE, OffsetDateTime.now(clock.withZone(ZoneOffset.UTC))));
+
+        ItemCountsDto counts = counters.snapshot();
+        assertThat(counts.getTodayReported()).isEqualTo(1L);
+        assertThat(counts.getAllReported()).isEqualTo(11L);
+    }
+
+    @Test
+    void reconcile_replacesDriftedValues() {
+        counters.snapshot();
+        counters.onCreated(item(Status.ACTIVE, OffsetDateTime.now(clock)));
+        when(reportRepository.count()).thenReturn(20L);
+
+        counters.reconcile();
+
+        ItemCountsDto counts = counters.snapshot();
+        assertThat(counts.getAllReported()).isEqualTo(20L);
+        assertThat(counts.getTodayReported()).isEqualTo(2L);
+    }
+
+    @Test
+    void reconcile_keepsAdjustmentsCommittedWhileItQueries() {
+        counters.snapshot();
+        when(reportRepository.count()).thenAnswer(invocation -> {
+            counters.onCreated(item(Status.DELIVERED, OffsetDateTime.now(clock)));
+            return 10L;
+        });
+
+        counters.reconcile();
+
+        ItemCountsDto counts = counters.snapshot();
+        assertThat(counts.getAllReported()).isEqualTo(11L);
+        assertThat(counts.getTodayReported()).isEqualTo(3L);
+        assertThat(counts.getReturned()).isEqualTo(5L);
+    }
+
+    private static Item item(Status status, OffsetDateTime createdAt) {
+        return Item.builder().status(status).createdAt(createdAt).build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+        private final ZoneId zone;
+
+        private MutableClock(Instant instant, ZoneId zone) {
+            this.instant = instant;
+            this.zone = zone;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(instant, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
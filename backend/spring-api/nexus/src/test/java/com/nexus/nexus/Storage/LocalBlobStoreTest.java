@@ -0,0 +1,66 @@
+package com.nexus.nexus.Storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalBlobStoreTest {
+
+    @TempDir
+    Path root;
+
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new LocalBlobStore(root.toString());
+    }
+
+    @Test
+    void put_keysBySha256AndShardsByPrefix() {
+        String hash = store.put("hello".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(hash).isEqualTo("2cf24dba5fb0a30e26e83b2ac5b9e29e1b161e5c1fa7425e73043362938b9824");
+        assertThat(root.resolve("2c").resolve("f2").resolve(hash)).hasContent("hello");
+    }
+
+    @Test
+    void put_deduplicatesIdenticalContentAndLeavesNoTempFiles() throws Exception {
+        String first = store.put(new byte[]{1, 2, 3});
+        String second = store.put(new byte[]{1, 2, 3});
+
+        assertThat(second).isEqualTo(first);
+        try (Stream<Path> leftovers = Files.list(root.resolve("tmp"))) {
+            assertThat(leftovers).isEmpty();
+        }
+    }
+
+    @Test
+    void find_returnsSizeAndTransfersRequestedSlice() throws Exception {
+        String hash = store.put(new byte[]{1, 2, 3, 4, 5});
+
+        StoredBlob blob = store.find(hash).orElseThrow();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        blob.transferTo(1, 3, Channels.newChannel(out));
+
+        assertThat(blob.size()).isEqualTo(5);
+        assertThat(blob.head(2)).containsExactly(1, 2);
+        assertThat(out.toByteArray()).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void find_rejectsMissingAndMalformedKeys() {
+        assertThat(store.find("0".repeat(64))).isEmpty();
+        assertThat(store.find("../../etc/passwd")).isEmpty();
+        assertThat(store.find(null)).isEmpty();
+    }
+}